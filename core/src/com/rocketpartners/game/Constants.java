@@ -1,5 +1,7 @@
 package com.rocketpartners.game;
 
+import com.badlogic.gdx.Input;
+
 import java.util.concurrent.TimeUnit;
 
 public class Constants {
@@ -44,6 +46,10 @@ public class Constants {
         public static final String REGION = "region";
         public static final String ROWS = "rows";
         public static final String COLUMNS = "columns";
+        public static final String MERGE = "merge";
+        public static final String MOTION_HISTORY = "motion_history";
+        public static final String FAST_MOVING = "fast_moving";
+        public static final String CAN_SLEEP = "can_sleep";
     }
 
     public static class ConstVals {
@@ -51,6 +57,18 @@ public class Constants {
         public static final int VIEW_HEIGHT = 10;
         public static final int PPM = 32;
         public static final float WORLD_TIME_STEP = 1 / 150f;
+        public static final int MAX_WORLD_SUBSTEPS = 10;
+        public static final float MAX_FRAME_DELTA = 0.25f;
+        public static final float SIMULATION_TICK = 1 / 60f;
+        public static final int LOADING_FRAME_BUDGET = 12;
+        public static final int MOTION_HISTORY_SIZE = 8;
+        public static final int PARALLEL_NARROWPHASE_MIN_BODIES = 128;
+        public static final int MAX_SWEEP_ITERATIONS = 2;
+        public static final float BODY_SLEEP_TIME = 1f;
+        public static final float BODY_SLEEP_TOLERANCE = 0.01f;
+        public static final int TILE_CHUNK_SIZE = 16;
+        public static final int DEBUG_SHAPES_TOGGLE_KEY = Input.Keys.F3;
+        public static final float SPRITE_CULL_MARGIN = PPM;
         public static final float STANDARD_TIME_TO_CULL = 1f;
         public static final float NORMAL_GRAVITY = -0.375f;
         public static final float LOW_GRAVITY = -0.15f;
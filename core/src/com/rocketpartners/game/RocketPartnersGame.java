@@ -2,16 +2,14 @@ package com.rocketpartners.game;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.audio.Music;
-import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.g2d.Batch;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.HdpiUtils;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.ObjectSet;
-import com.badlogic.gdx.utils.OrderedMap;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.engine.Game2D;
@@ -20,8 +18,6 @@ import com.engine.IGameEngine;
 import com.engine.animations.AnimationsSystem;
 import com.engine.audio.AudioSystem;
 import com.engine.behaviors.BehaviorsSystem;
-import com.engine.common.extensions.AssetManagerExtensionsKt;
-import com.engine.common.objects.MultiCollectionIterable;
 import com.engine.controller.ControllerSystem;
 import com.engine.controller.buttons.Buttons;
 import com.engine.controller.polling.ControllerPoller;
@@ -29,8 +25,6 @@ import com.engine.controller.polling.IControllerPoller;
 import com.engine.cullables.CullablesSystem;
 import com.engine.drawables.fonts.BitmapFontHandle;
 import com.engine.drawables.fonts.FontsSystem;
-import com.engine.drawables.shapes.DrawableShapesSystem;
-import com.engine.drawables.shapes.IDrawableShape;
 import com.engine.drawables.sorting.DrawingSection;
 import com.engine.drawables.sorting.IComparableDrawable;
 import com.engine.drawables.sprites.GameSprite;
@@ -39,18 +33,14 @@ import com.engine.events.Event;
 import com.engine.events.EventsManager;
 import com.engine.events.IEventListener;
 import com.engine.events.IEventsManager;
-import com.engine.graph.IGraphMap;
 import com.engine.pathfinding.Pathfinder;
 import com.engine.pathfinding.PathfindingSystem;
 import com.engine.points.PointsSystem;
 import com.engine.screens.IScreen;
 import com.engine.systems.IGameSystem;
 import com.engine.updatables.UpdatablesSystem;
-import com.engine.world.WorldSystem;
-import com.rocketpartners.game.assets.IAsset;
-import com.rocketpartners.game.assets.MusicAsset;
-import com.rocketpartners.game.assets.SoundAsset;
-import com.rocketpartners.game.assets.SpriteSheetAsset;
+import com.rocketpartners.game.assets.AssetManifest;
+import com.rocketpartners.game.assets.AssetManifestLoader;
 import com.rocketpartners.game.audio.AudioManager;
 import com.rocketpartners.game.controllers.ControllerUtils;
 import com.rocketpartners.game.entities.Player;
@@ -58,16 +48,28 @@ import com.rocketpartners.game.events.EventType;
 import com.rocketpartners.game.screens.ScreenEnum;
 import com.rocketpartners.game.screens.levels.LevelEnum;
 import com.rocketpartners.game.screens.levels.LevelScreen;
+import com.rocketpartners.game.screens.levels.SimulationThread;
+import com.rocketpartners.game.screens.loading.LoadingScreen;
 import com.rocketpartners.game.drawables.BitmapFontHandleUtils;
+import com.rocketpartners.game.drawables.CachedFontHandle;
+import com.rocketpartners.game.drawables.CachedFontsSystem;
+import com.rocketpartners.game.drawables.DebugShapesOverlay;
+import com.rocketpartners.game.drawables.LowResFramebuffer;
+import com.rocketpartners.game.drawables.ProfilingSpriteBatch;
+import com.rocketpartners.game.drawables.RenderQueue;
+import com.rocketpartners.game.drawables.SpriteCuller;
+import com.rocketpartners.game.drawables.TextureOrder;
 import com.rocketpartners.game.world.CollisionHandler;
+import com.rocketpartners.game.world.ContactFilter;
 import com.rocketpartners.game.world.ContactListener;
 import com.rocketpartners.game.world.FixtureType;
+import com.rocketpartners.game.world.FrameClock;
+import com.rocketpartners.game.world.GameWorldSystem;
+import com.rocketpartners.game.world.UniformGridBroadphase;
 import lombok.Getter;
 import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Comparator;
-import java.util.PriorityQueue;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -81,9 +83,12 @@ public final class RocketPartnersGame extends Game2D implements IEventListener {
 
     public static final boolean DEBUG_SHAPES = true;
     public static final boolean DEBUG_TEXT = false;
+    public static final boolean CACHED_TILES = true;
+
+    private static final Color CLEAR_COLOR = new Color(0.1f, 0.1f, 0.1f, 1f);
 
     private ShapeRenderer shapeRenderer;
-    private SpriteBatch batch;
+    private ProfilingSpriteBatch batch;
     private Buttons buttons;
     private IControllerPoller controllerPoller;
     private AssetManager assMan;
@@ -91,37 +96,33 @@ public final class RocketPartnersGame extends Game2D implements IEventListener {
     private IGameEngine engine;
     private ObjectSet<Object> eventKeyMask;
     private AudioManager audioMan;
-    private IGraphMap graphMap;
-    private ObjectMap<DrawingSection, PriorityQueue<IComparableDrawable<Batch>>> drawables;
-    private PriorityQueue<IDrawableShape> shapes;
+    private AssetManifestLoader assetManifestLoader;
+    private AssetManifest levelAssetManifest;
+    private UniformGridBroadphase graphMap;
+    private FrameClock frameClock;
+    private ObjectMap<DrawingSection, RenderQueue<IComparableDrawable<Batch>>> drawables;
+    private DebugShapesOverlay debugShapesOverlay;
+    private SpriteCuller spriteCuller;
     private Player player;
     private ObjectMap<String, IGameSystem> systemsMap;
-    private BitmapFontHandle debugText;
+    private CachedFontHandle debugText;
+    private boolean simulationThreaded;
+    private boolean lowResRendering;
+    private LowResFramebuffer lowResFramebuffer;
 
     public void create() {
         shapeRenderer = new ShapeRenderer();
         shapeRenderer.setAutoShapeType(true);
-        batch = new SpriteBatch();
+        batch = new ProfilingSpriteBatch();
         buttons = ControllerUtils.getInstance().loadButtons();
         controllerPoller = new ControllerPoller(buttons);
         assMan = new AssetManager();
         eventsMan = new EventsManager();
         eventKeyMask = objectSetOf(EventType.TURN_CONTROLLER_ON, EventType.TURN_CONTROLLER_OFF);
 
-        loadAssets(assMan);
-        // TODO: instead of immediately finishing loading, should show progress bar and lock game until
-        //  loading is complete
-        assMan.finishLoading();
-
-        OrderedMap<SoundAsset, Sound> sounds = new OrderedMap<>();
-        for (SoundAsset ass : SoundAsset.values()) {
-            sounds.put(ass, AssetManagerExtensionsKt.getSound(assMan, ass.getSource()));
-        }
-        OrderedMap<MusicAsset, Music> music = new OrderedMap<>();
-        for (MusicAsset ass : MusicAsset.values()) {
-            music.put(ass, AssetManagerExtensionsKt.getMusic(assMan, ass.getSource()));
-        }
-        audioMan = new AudioManager(sounds, music);
+        audioMan = new AudioManager();
+        // every asset belongs to the manifest of a level, see LevelEnum.getAssetManifest()
+        assetManifestLoader = new AssetManifestLoader(assMan);
 
         int screenWidth = ConstVals.VIEW_WIDTH * ConstVals.PPM;
         int screenHeight = ConstVals.VIEW_HEIGHT * ConstVals.PPM;
@@ -134,39 +135,40 @@ public final class RocketPartnersGame extends Game2D implements IEventListener {
 
         drawables = new ObjectMap<>();
         for (DrawingSection section : DrawingSection.values()) {
-            drawables.put(section, new PriorityQueue<>());
+            drawables.put(section,
+                    new RenderQueue<>(drawable -> drawable.getPriority().getPriority(), TextureOrder.INSTANCE));
         }
-        shapes = new PriorityQueue<>(Comparator.comparingInt(o -> o.getShapeType().ordinal()));
+        if (lowResRendering) {
+            lowResFramebuffer = new LowResFramebuffer(screenWidth, screenHeight, CLEAR_COLOR);
+        }
+
+        ObjectMap<DrawingSection, Camera> sectionCameras = new ObjectMap<>();
+        sectionCameras.put(DrawingSection.BACKGROUND, backgroundViewport.getCamera());
+        sectionCameras.put(DrawingSection.PLAYGROUND, gameViewport.getCamera());
+        sectionCameras.put(DrawingSection.FOREGROUND, uiViewport.getCamera());
+        spriteCuller = new SpriteCuller(sectionCameras, ConstVals.SPRITE_CULL_MARGIN);
+        debugShapesOverlay = new DebugShapesOverlay(gameViewport.getCamera(), ConstVals.DEBUG_SHAPES_TOGGLE_KEY,
+                DEBUG_SHAPES);
 
+        frameClock = new FrameClock(ConstVals.WORLD_TIME_STEP, ConstVals.MAX_WORLD_SUBSTEPS, ConstVals.MAX_FRAME_DELTA);
         engine = createEngine(this);
         systemsMap = new ObjectMap<>();
         engine.getSystems().forEach(system -> systemsMap.put(system.getClass().getSimpleName(), system));
 
         player = new Player(this);
-        player.init();
-        player.setInitialized(true);
 
-        debugText = BitmapFontHandleUtils.create("Debug Text");
+        debugText = BitmapFontHandleUtils.createCached("Debug Text");
 
         // TODO: add screens
         ObjectMap<String, IScreen> screens = getScreens();
+        screens.put(ScreenEnum.LOADING_SCREEN.name(), new LoadingScreen(this, ConstVals.LOADING_FRAME_BUDGET));
         screens.put(ScreenEnum.LEVEL_SCREEN.name(), new LevelScreen(this));
 
         startLevelScreen(LevelEnum.TEST1);
     }
 
-    public void setDebugText(@NotNull String text) {
-        debugText.setTextSupplier(() -> text);
-    }
-
-    private static void loadAssets(AssetManager assetManager) {
-        Array<Iterable<IAsset>> assetArrays = new Array<>();
-        assetArrays.add(MusicAsset.asAssetArray());
-        assetArrays.add(SoundAsset.asAssetArray());
-        assetArrays.add(SpriteSheetAsset.asAssetArray());
-        for (IAsset asset : new MultiCollectionIterable<>(assetArrays)) {
-            assetManager.load(asset.getSource(), asset.getAssClass());
-        }
+    public void setDebugText(@NotNull CharSequence text) {
+        debugText.setText(text);
     }
 
     private static IGameEngine createEngine(RocketPartnersGame game) {
@@ -177,13 +179,12 @@ public final class RocketPartnersGame extends Game2D implements IEventListener {
 
         return new GameEngine(
                 new ControllerSystem(game.getControllerPoller()),
-                new WorldSystem(
+                new GameWorldSystem(
                         new ContactListener(game),
-                        (Supplier<IGraphMap>) game::getGraphMap,
-                        ConstVals.WORLD_TIME_STEP,
+                        (Supplier<UniformGridBroadphase>) game::getGraphMap,
+                        game.getFrameClock(),
                         new CollisionHandler(game),
-                        worldFilterMap,
-                        true),
+                        ContactFilter.compile(worldFilterMap)),
                 new BehaviorsSystem(),
                 new CullablesSystem(),
                 new PathfindingSystem(
@@ -194,12 +195,15 @@ public final class RocketPartnersGame extends Game2D implements IEventListener {
                 new UpdatablesSystem(),
                 new FontsSystem((Consumer<BitmapFontHandle>) (font) ->
                         game.getDrawables().get(font.getPriority().getSection()).add(font)),
+                new CachedFontsSystem((font) ->
+                        game.getDrawables().get(font.getPriority().getSection()).add(font)),
                 new AnimationsSystem(),
-                new SpritesSystem((Consumer<GameSprite>) (sprite) ->
-                        game.getDrawables().get(sprite.getPriority().getSection()).add(sprite)),
-                new DrawableShapesSystem((Consumer<IDrawableShape>) (shape) ->
-                        game.getShapes().add(shape),
-                        DEBUG_SHAPES),
+                new SpritesSystem((Consumer<GameSprite>) (sprite) -> {
+                    if (game.getSpriteCuller().isVisible(sprite)) {
+                        game.getDrawables().get(sprite.getPriority().getSection()).add(sprite);
+                    }
+                }),
+                game.getDebugShapesOverlay().getSystem(),
                 new AudioSystem(
                         (request) -> game.getAudioMan().playSound(request.getSource(), request.getLoop()),
                         (request) -> game.getAudioMan().playMusic(request.getSource(), request.getLoop()),
@@ -217,7 +221,33 @@ public final class RocketPartnersGame extends Game2D implements IEventListener {
         LevelScreen levelScreen = (LevelScreen) getScreens().get(ScreenEnum.LEVEL_SCREEN.name());
         levelScreen.setTmxMapSource(level.getTmxSourceFile());
         levelScreen.setMusicAsset(level.getMusicAsset());
-        setCurrentScreen(ScreenEnum.LEVEL_SCREEN.name());
+        setCurrentScreen(ScreenEnum.LOADING_SCREEN.name());
+
+        // acquire before releasing so that the assets shared by both levels stay loaded
+        AssetManifest previousAssetManifest = levelAssetManifest;
+        levelAssetManifest = level.getAssetManifest();
+        assetManifestLoader.acquire(levelAssetManifest);
+        if (previousAssetManifest != null) {
+            assetManifestLoader.release(previousAssetManifest);
+            audioMan.refresh(assMan);
+        }
+
+        LoadingScreen loadingScreen = (LoadingScreen) getScreens().get(ScreenEnum.LOADING_SCREEN.name());
+        loadingScreen.setOnFinished(() -> {
+            onAssetsLoaded();
+            setCurrentScreen(ScreenEnum.LEVEL_SCREEN.name());
+        });
+    }
+
+    /**
+     * Picks up the newly loaded assets. The player is initialized the first time, once its sprite sheet is loaded.
+     */
+    private void onAssetsLoaded() {
+        audioMan.refresh(assMan);
+        if (!player.getInitialized()) {
+            player.init();
+            player.setInitialized(true);
+        }
     }
 
     public void onEvent(@NotNull Event event) {
@@ -229,11 +259,54 @@ public final class RocketPartnersGame extends Game2D implements IEventListener {
         }
     }
 
+    // pausing toggles the systems of the level, so while they are updated on the simulation thread it is done there
+    @Override
+    public void pause() {
+        SimulationThread simulationThread = getLevelSimulationThread();
+        if (simulationThread != null) {
+            simulationThread.post(super::pause);
+        } else {
+            super.pause();
+        }
+    }
+
+    @Override
+    public void resume() {
+        SimulationThread simulationThread = getLevelSimulationThread();
+        if (simulationThread != null) {
+            simulationThread.post(super::resume);
+        } else {
+            super.resume();
+        }
+    }
+
+    private SimulationThread getLevelSimulationThread() {
+        return getCurrentScreen() instanceof LevelScreen levelScreen ? levelScreen.getSimulationThread() : null;
+    }
+
     public void render() {
-        Gdx.gl20.glClearColor(0.1f, 0.1f, 0.1f, 1.0f);
+        Gdx.gl20.glClearColor(CLEAR_COLOR.r, CLEAR_COLOR.g, CLEAR_COLOR.b, CLEAR_COLOR.a);
         Gdx.graphics.getGL20().glClear(GL20.GL_COLOR_BUFFER_BIT);
-        super.render();
+        batch.startFrame();
         float delta = Gdx.graphics.getDeltaTime();
+        SimulationThread simulationThread = getLevelSimulationThread();
+        if (debugShapesOverlay.isTogglePressed()) {
+            if (simulationThread != null) {
+                simulationThread.post(debugShapesOverlay::toggle);
+            } else {
+                debugShapesOverlay.toggle();
+            }
+        }
+        if (simulationThread != null) {
+            // controller polling and events are run by the simulation thread, which also owns the cameras of the
+            // viewports, so only the GL viewport is set here
+            Viewport gameViewport = getViewports().get(ConstKeys.GAME);
+            HdpiUtils.glViewport(gameViewport.getScreenX(), gameViewport.getScreenY(), gameViewport.getScreenWidth(),
+                    gameViewport.getScreenHeight());
+            getCurrentScreen().render(delta);
+        } else {
+            super.render();
+        }
         audioMan.update(delta);
         if (DEBUG_TEXT) {
             batch.setProjectionMatrix(getViewports().get(ConstKeys.UI).getCamera().combined);
@@ -242,4 +315,12 @@ public final class RocketPartnersGame extends Game2D implements IEventListener {
             batch.end();
         }
     }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        if (lowResFramebuffer != null) {
+            lowResFramebuffer.dispose();
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package com.rocketpartners.game.animations;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.engine.animations.IAnimation;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Playback position of one entity in a shared {@link AnimationDef}. Advances the same way as the engine's
+ * {@code Animation}, so it can be used with the engine's {@code Animator}.
+ */
+public class AnimationCursor implements IAnimation {
+
+    @Getter
+    private final AnimationDef def;
+    @Getter
+    private float elapsedTime;
+    @Getter
+    private int frameIndex;
+    private boolean loop;
+
+    public AnimationCursor(@NotNull AnimationDef def) {
+        this.def = def;
+        loop = def.isLoop();
+    }
+
+    @Override
+    public void update(float delta) {
+        elapsedTime += delta;
+        float duration = def.getDuration();
+        if (elapsedTime >= duration) {
+            if (!loop) {
+                elapsedTime = duration;
+                frameIndex = def.getFrameCount() - 1;
+                return;
+            }
+            elapsedTime %= duration;
+        }
+        frameIndex = def.getFrameIndex(elapsedTime);
+    }
+
+    @NotNull
+    @Override
+    public TextureRegion getCurrentRegion() {
+        return def.getFrame(frameIndex);
+    }
+
+    @Override
+    public boolean isFinished() {
+        return !loop && elapsedTime >= def.getDuration();
+    }
+
+    @Override
+    public float getDuration() {
+        return def.getDuration();
+    }
+
+    @Override
+    public boolean isLooping() {
+        return loop;
+    }
+
+    @Override
+    public void setLooping(boolean loop) {
+        this.loop = loop;
+    }
+
+    @Override
+    public void reset() {
+        elapsedTime = 0f;
+        frameIndex = 0;
+    }
+}
@@ -0,0 +1,55 @@
+package com.rocketpartners.game.animations;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.engine.drawables.sprites.TextureRegionExtensionsKt;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Immutable frames and timing of an animation. Definitions are shared between entities through
+ * {@link AnimationDefs}; the playback state of each entity is held by an {@link AnimationCursor}.
+ */
+public class AnimationDef {
+
+    private final TextureRegion[] frames;
+    private final float[] frameEnds;
+    @Getter
+    private final float duration;
+    @Getter
+    private final boolean loop;
+
+    public AnimationDef(@NotNull TextureRegion region, int rows, int columns, float frameDuration, boolean loop) {
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException("Rows and columns must be greater than 0");
+        }
+        Array<TextureRegion> split = TextureRegionExtensionsKt.splitAndFlatten(region, rows, columns);
+        frames = split.toArray(TextureRegion.class);
+        frameEnds = new float[frames.length];
+        for (int i = 0; i < frames.length; i++) {
+            frameEnds[i] = frameDuration * (i + 1);
+        }
+        duration = frameDuration * frames.length;
+        this.loop = loop;
+    }
+
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    public TextureRegion getFrame(int index) {
+        return frames[index];
+    }
+
+    /**
+     * Returns the index of the frame shown at the elapsed time, which must be within the duration.
+     */
+    public int getFrameIndex(float elapsedTime) {
+        for (int i = 0; i < frameEnds.length - 1; i++) {
+            if (elapsedTime <= frameEnds[i]) {
+                return i;
+            }
+        }
+        return frameEnds.length - 1;
+    }
+}
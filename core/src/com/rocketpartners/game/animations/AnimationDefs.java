@@ -0,0 +1,51 @@
+package com.rocketpartners.game.animations;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.rocketpartners.game.assets.SpriteSheetAsset;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Cache of animation definitions by sprite sheet, region and layout. The region is split the first time it is
+ * requested with a layout, so every later entity only allocates a cursor. The definitions of a sprite sheet are
+ * dropped when its atlas is unloaded by the {@link com.rocketpartners.game.assets.AssetManifestLoader}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class AnimationDefs {
+
+    private static final ObjectMap<SpriteSheetAsset, ObjectMap<String, AnimationDef>> defs = new ObjectMap<>();
+
+    public static AnimationDef get(@NotNull AssetManager assMan, @NotNull SpriteSheetAsset spriteSheet,
+                                   @NotNull String region) {
+        return get(assMan, spriteSheet, region, 1, 1, 1f, true);
+    }
+
+    public static AnimationDef get(@NotNull AssetManager assMan, @NotNull SpriteSheetAsset spriteSheet,
+                                   @NotNull String region, int rows, int columns, float frameDuration, boolean loop) {
+        ObjectMap<String, AnimationDef> sheetDefs = defs.get(spriteSheet);
+        if (sheetDefs == null) {
+            sheetDefs = new ObjectMap<>();
+            defs.put(spriteSheet, sheetDefs);
+        }
+        String key = getKey(region, rows, columns, frameDuration, loop);
+        AnimationDef def = sheetDefs.get(key);
+        if (def == null) {
+            def = new AnimationDef(spriteSheet.findRegion(assMan, region), rows, columns, frameDuration, loop);
+            sheetDefs.put(key, def);
+        }
+        return def;
+    }
+
+    /**
+     * Drops the definitions of a sprite sheet. Called when its atlas is unloaded.
+     */
+    public static void clear(@NotNull SpriteSheetAsset spriteSheet) {
+        defs.remove(spriteSheet);
+    }
+
+    private static String getKey(String region, int rows, int columns, float frameDuration, boolean loop) {
+        return region + '/' + rows + 'x' + columns + '/' + frameDuration + (loop ? "/loop" : "/once");
+    }
+}
@@ -0,0 +1,47 @@
+package com.rocketpartners.game.assets;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectSet;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+
+/**
+ * Assets that are needed together, such as by a level. Each source is only listed once.
+ */
+public class AssetManifest implements Iterable<AssetDescriptor<?>> {
+
+    private final Array<AssetDescriptor<?>> descriptors;
+    private final ObjectSet<String> sources;
+
+    public AssetManifest() {
+        descriptors = new Array<>();
+        sources = new ObjectSet<>();
+    }
+
+    public AssetManifest add(@NotNull IAsset asset) {
+        return add(asset.getSource(), asset.getAssClass());
+    }
+
+    public AssetManifest add(@NotNull String source, @NotNull Class<?> type) {
+        if (sources.add(source)) {
+            descriptors.add(new AssetDescriptor<>(source, type));
+        }
+        return this;
+    }
+
+    public boolean contains(@NotNull String source) {
+        return sources.contains(source);
+    }
+
+    public int size() {
+        return descriptors.size;
+    }
+
+    @NotNull
+    @Override
+    public Iterator<AssetDescriptor<?>> iterator() {
+        return new Array.ArrayIterator<>(descriptors);
+    }
+}
@@ -0,0 +1,71 @@
+package com.rocketpartners.game.assets;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.engine.common.GameLogger;
+import com.rocketpartners.game.animations.AnimationDefs;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Loads and unloads the assets of manifests. Each source is counted once per acquired manifest, so an asset shared
+ * by several manifests is queued when the first of them is acquired and unloaded when the last of them is released.
+ * Acquiring the next manifest before releasing the previous one therefore only loads and unloads the difference.
+ * Loading is queued; the asset manager has to be updated to finish it. Unloading a sprite sheet also drops its cached
+ * animation definitions, which point into its texture.
+ */
+public class AssetManifestLoader {
+
+    private static final String TAG = "AssetManifestLoader";
+
+    private final AssetManager assMan;
+    private final ObjectIntMap<String> refCounts;
+
+    public AssetManifestLoader(@NotNull AssetManager assMan) {
+        this.assMan = assMan;
+        refCounts = new ObjectIntMap<>();
+    }
+
+    public void acquire(@NotNull AssetManifest manifest) {
+        int queued = 0;
+        for (AssetDescriptor<?> descriptor : manifest) {
+            if (refCounts.getAndIncrement(descriptor.fileName, 0, 1) == 0) {
+                assMan.load(descriptor);
+                queued++;
+            }
+        }
+        GameLogger.INSTANCE.debug(TAG, "acquire(): queued " + queued + " of " + manifest.size() + " assets");
+    }
+
+    public void release(@NotNull AssetManifest manifest) {
+        int unloaded = 0;
+        for (AssetDescriptor<?> descriptor : manifest) {
+            int refCount = refCounts.get(descriptor.fileName, 0);
+            if (refCount == 0) {
+                throw new IllegalStateException("Asset " + descriptor.fileName + " has not been acquired");
+            }
+            if (refCount == 1) {
+                refCounts.remove(descriptor.fileName, 0);
+                assMan.unload(descriptor.fileName);
+                clearSpriteSheets(descriptor.fileName);
+                unloaded++;
+            } else {
+                refCounts.put(descriptor.fileName, refCount - 1);
+            }
+        }
+        GameLogger.INSTANCE.debug(TAG, "release(): unloaded " + unloaded + " of " + manifest.size() + " assets");
+    }
+
+    public int getRefCount(@NotNull String source) {
+        return refCounts.get(source, 0);
+    }
+
+    // with packed sprites every sprite sheet shares one atlas
+    private static void clearSpriteSheets(String source) {
+        for (SpriteSheetAsset spriteSheet : SpriteSheetAsset.values()) {
+            if (spriteSheet.getSource().equals(source)) {
+                AnimationDefs.clear(spriteSheet);
+            }
+        }
+    }
+}
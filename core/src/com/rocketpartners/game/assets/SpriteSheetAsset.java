@@ -1,5 +1,7 @@
 package com.rocketpartners.game.assets;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.utils.Array;
 import lombok.AccessLevel;
@@ -8,11 +10,26 @@ import org.jetbrains.annotations.NotNull;
 
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public enum SpriteSheetAsset implements IAsset {
-    PLAYER_8BIT_SPRITE_SHEET("player-8bit.txt");
+    PLAYER_8BIT_SPRITE_SHEET("player-8bit.txt", "player-8bit");
 
     public static final String SPRITE_SHEET_ASSET_PREFIX = "sprites/sprite_sheets/";
+    public static final String PACKED_SPRITES_SOURCE = "atlases/sprites.atlas";
+
+    private static Boolean packed;
 
     private final String src;
+    private final String framesDirectory;
+
+    /**
+     * Whether the sprite frames have been packed into one atlas by the {@code packAtlases} Gradle task. If so, every
+     * sprite sheet is looked up in that atlas under its frames directory.
+     */
+    public static boolean isPacked() {
+        if (packed == null) {
+            packed = Gdx.files.internal(PACKED_SPRITES_SOURCE).exists();
+        }
+        return packed;
+    }
 
     public static Array<IAsset> asAssetArray() {
         Array<IAsset> array = new Array<>();
@@ -25,7 +42,12 @@ public enum SpriteSheetAsset implements IAsset {
     @NotNull
     @Override
     public String getSource() {
-        return SPRITE_SHEET_ASSET_PREFIX + src;
+        return isPacked() ? PACKED_SPRITES_SOURCE : SPRITE_SHEET_ASSET_PREFIX + src;
+    }
+
+    public TextureAtlas.AtlasRegion findRegion(@NotNull AssetManager assMan, @NotNull String name) {
+        TextureAtlas atlas = assMan.get(getSource(), TextureAtlas.class);
+        return atlas.findRegion(isPacked() ? framesDirectory + "/" + name : name);
     }
 
     @NotNull
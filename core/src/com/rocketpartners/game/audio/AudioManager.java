@@ -1,5 +1,6 @@
 package com.rocketpartners.game.audio;
 
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.utils.Array;
@@ -13,10 +14,18 @@ import com.rocketpartners.game.assets.MusicAsset;
 import com.rocketpartners.game.assets.SoundAsset;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Iterator;
-
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Plays the sounds and music loaded by the asset manager. Playing, stopping and pausing may be requested from any
+ * thread, such as the simulation thread of a level: requests are queued and carried out in order by {@link #update}
+ * on the render thread. Volumes, {@link #refresh} and {@link #isSoundPlaying} are only used from the render thread.
+ */
 public class AudioManager implements Updatable, IAudioManager {
 
     public static final float MIN_VOLUME = 0f;
@@ -48,6 +57,7 @@ public class AudioManager implements Updatable, IAudioManager {
 
     private final OrderedMap<SoundAsset, Sound> sounds;
     private final OrderedMap<MusicAsset, Music> music;
+    private final Queue<Runnable> requests;
     private final OrderedSet<SoundRequest> soundsToPlay;
     private final Array<SoundEntry> playingSounds;
 
@@ -61,9 +71,10 @@ public class AudioManager implements Updatable, IAudioManager {
     @Getter
     private float musicVolume;
 
-    public AudioManager(OrderedMap<SoundAsset, Sound> sounds, OrderedMap<MusicAsset, Music> music) {
-        this.sounds = sounds;
-        this.music = music;
+    public AudioManager() {
+        sounds = new OrderedMap<>();
+        music = new OrderedMap<>();
+        requests = new ConcurrentLinkedQueue<>();
         soundsToPlay = new OrderedSet<>();
         playingSounds = new Array<>();
         soundVolume = DEFAULT_VOLUME;
@@ -81,7 +92,39 @@ public class AudioManager implements Updatable, IAudioManager {
 
         for (SoundEntry entry : playingSounds) {
             Sound sound = sounds.get(entry.ass);
-            sound.setVolume(entry.id, soundVolume);
+            if (sound != null) {
+                sound.setVolume(entry.id, soundVolume);
+            }
+        }
+    }
+
+    /**
+     * Picks up the sounds and music currently loaded by the asset manager and drops the ones that have been unloaded.
+     * Must be called after assets are loaded or unloaded.
+     */
+    public void refresh(@NotNull AssetManager assMan) {
+        sounds.clear();
+        for (SoundAsset ass : SoundAsset.values()) {
+            if (assMan.isLoaded(ass.getSource(), Sound.class)) {
+                sounds.put(ass, assMan.get(ass.getSource(), Sound.class));
+            }
+        }
+        music.clear();
+        for (MusicAsset ass : MusicAsset.values()) {
+            if (assMan.isLoaded(ass.getSource(), Music.class)) {
+                music.put(ass, assMan.get(ass.getSource(), Music.class));
+            }
+        }
+
+        if (currentMusic != null && !music.containsValue(currentMusic, true)) {
+            currentMusic = null;
+            fadeOutTimer = null;
+        }
+        Iterator<SoundEntry> playingSoundsIter = playingSounds.iterator();
+        while (playingSoundsIter.hasNext()) {
+            if (!sounds.containsKey(playingSoundsIter.next().ass)) {
+                playingSoundsIter.remove();
+            }
         }
     }
 
@@ -101,6 +144,10 @@ public class AudioManager implements Updatable, IAudioManager {
 
     @Override
     public void playMusic(@Nullable Object key, boolean loop) {
+        requests.add(() -> startMusic(key, loop));
+    }
+
+    private void startMusic(@Nullable Object key, boolean loop) {
         if (key == null) {
             if (currentMusic != null) {
                 currentMusic.play();
@@ -113,6 +160,9 @@ public class AudioManager implements Updatable, IAudioManager {
         }
         currentMusic = music.get((MusicAsset) key);
         fadeOutTimer = null;
+        if (currentMusic == null) {
+            throw new IllegalStateException("Music " + key + " is not loaded");
+        }
         currentMusic.setLooping(loop);
         currentMusic.setVolume(musicVolume);
         currentMusic.play();
@@ -121,6 +171,10 @@ public class AudioManager implements Updatable, IAudioManager {
 
     @Override
     public void stopMusic(@Nullable Object key) {
+        requests.add(this::stopCurrentMusic);
+    }
+
+    private void stopCurrentMusic() {
         if (currentMusic != null) {
             currentMusic.stop();
         }
@@ -130,10 +184,12 @@ public class AudioManager implements Updatable, IAudioManager {
 
     @Override
     public void pauseMusic(@Nullable Object key) {
-        if (currentMusic != null) {
-            currentMusic.pause();
-        }
-        musicPaused = true;
+        requests.add(() -> {
+            if (currentMusic != null) {
+                currentMusic.pause();
+            }
+            musicPaused = true;
+        });
     }
 
     @Override
@@ -145,25 +201,35 @@ public class AudioManager implements Updatable, IAudioManager {
     }
 
     public void playSound(SoundRequest request) {
-        soundsToPlay.add(request);
+        requests.add(() -> soundsToPlay.add(request));
     }
 
     @Override
     public void stopSound(@Nullable Object key) {
-        sounds.get((SoundAsset) key).stop();
+        requests.add(() -> {
+            Sound sound = sounds.get((SoundAsset) key);
+            if (sound != null) {
+                sound.stop();
+            }
+        });
     }
 
     @Override
     public void pauseSound(@Nullable Object o) {
-        sounds.get((SoundAsset) o).pause();
+        requests.add(() -> {
+            Sound sound = sounds.get((SoundAsset) o);
+            if (sound != null) {
+                sound.pause();
+            }
+        });
     }
 
     public void pauseAllSound() {
-        sounds.values().forEach(Sound::pause);
+        requests.add(() -> sounds.values().forEach(Sound::pause));
     }
 
     public void resumeAllSound() {
-        sounds.values().forEach(Sound::resume);
+        requests.add(() -> sounds.values().forEach(Sound::resume));
     }
 
     public boolean isSoundPlaying(SoundAsset sound) {
@@ -176,29 +242,41 @@ public class AudioManager implements Updatable, IAudioManager {
     }
 
     public void fadeOutMusic(float time) {
-        fadeOutTimer = new Timer(time);
-        fadeOutTimer.setRunOnFinished(() -> {
-            if (currentMusic != null) {
-                currentMusic.setVolume(musicVolume);
-            }
-            return null;
+        requests.add(() -> {
+            fadeOutTimer = new Timer(time);
+            fadeOutTimer.setRunOnFinished(() -> {
+                if (currentMusic != null) {
+                    currentMusic.setVolume(musicVolume);
+                }
+                return null;
+            });
         });
     }
 
     public void stopFadingOutMusic() {
-        fadeOutTimer = null;
-        if (currentMusic != null) {
-            currentMusic.setVolume(musicVolume);
-        }
+        requests.add(() -> {
+            fadeOutTimer = null;
+            if (currentMusic != null) {
+                currentMusic.setVolume(musicVolume);
+            }
+        });
     }
 
     @Override
     public void update(float delta) {
-        soundsToPlay.forEach(request -> {
-            SoundAsset key = (SoundAsset) request.getSource();
+        Runnable request;
+        while ((request = requests.poll()) != null) {
+            request.run();
+        }
+
+        soundsToPlay.forEach(soundRequest -> {
+            SoundAsset key = (SoundAsset) soundRequest.getSource();
             Sound sound = sounds.get(key);
-            long id = request.getLoop() ? sound.loop(soundVolume) : sound.play(soundVolume);
-            playingSounds.add(new SoundEntry(id, key, request.getLoop(), 0f));
+            if (sound == null) {
+                return;
+            }
+            long id = soundRequest.getLoop() ? sound.loop(soundVolume) : sound.play(soundVolume);
+            playingSounds.add(new SoundEntry(id, key, soundRequest.getLoop(), 0f));
         });
         soundsToPlay.clear();
 
@@ -221,7 +299,7 @@ public class AudioManager implements Updatable, IAudioManager {
             }
             if (fadeOutTimer.isFinished()) {
                 fadeOutTimer = null;
-                stopMusic(null);
+                stopCurrentMusic();
             }
         }
     }
@@ -1,26 +1,52 @@
 package com.rocketpartners.game.drawables;
 
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
 import com.engine.common.interfaces.Updatable;
 import com.engine.drawables.IDrawable;
 import com.engine.drawables.sorting.DrawingPriority;
 import com.engine.drawables.sorting.DrawingSection;
 import com.engine.drawables.sprites.SpriteMatrix;
 
+/**
+ * Grid of copies of a texture region. If a camera is given, only the cells inside the camera's view are drawn.
+ */
 public class Background implements Updatable, IDrawable<Batch> {
 
     protected SpriteMatrix backgroundSprites;
+    protected Camera camera;
+
+    private final float startX;
+    private final float startY;
 
     public Background(float startX, float startY, TextureRegion model, float modelWidth, float modelHeight, int rows,
                       int cols) {
-        this(startX, startY, model, modelWidth, modelHeight, rows, cols, new DrawingPriority(DrawingSection.BACKGROUND, 0));
+        this(startX, startY, model, modelWidth, modelHeight, rows, cols, null);
     }
 
     public Background(float startX, float startY, TextureRegion model, float modelWidth, float modelHeight, int rows,
-                      int cols, DrawingPriority priority) {
+                      int cols, Camera camera) {
+        this(startX, startY, model, modelWidth, modelHeight, rows, cols, camera,
+                new DrawingPriority(DrawingSection.BACKGROUND, 0));
+    }
+
+    public Background(float startX, float startY, TextureRegion model, float modelWidth, float modelHeight, int rows,
+                      int cols, Camera camera, DrawingPriority priority) {
         backgroundSprites = new SpriteMatrix(model, priority, modelWidth, modelHeight, rows, cols);
         backgroundSprites.setPosition(startX, startY);
+        this.startX = startX;
+        this.startY = startY;
+        this.camera = camera;
+    }
+
+    /**
+     * Sets the camera whose view decides which cells are drawn, or null to draw every cell.
+     */
+    public void setCamera(Camera camera) {
+        this.camera = camera;
     }
 
     @Override
@@ -30,6 +56,28 @@ public class Background implements Updatable, IDrawable<Batch> {
 
     @Override
     public void draw(Batch batch) {
-        backgroundSprites.draw(batch);
+        if (camera == null) {
+            backgroundSprites.draw(batch);
+            return;
+        }
+
+        float zoom = camera instanceof OrthographicCamera orthographicCamera ? orthographicCamera.zoom : 1f;
+        float halfWidth = camera.viewportWidth * zoom / 2f;
+        float halfHeight = camera.viewportHeight * zoom / 2f;
+        float cellWidth = backgroundSprites.getModelWidth();
+        float cellHeight = backgroundSprites.getModelHeight();
+
+        int minColumn = Math.max(0, MathUtils.floor((camera.position.x - halfWidth - startX) / cellWidth));
+        int maxColumn = Math.min(backgroundSprites.getColumns() - 1,
+                MathUtils.floor((camera.position.x + halfWidth - startX) / cellWidth));
+        int minRow = Math.max(0, MathUtils.floor((camera.position.y - halfHeight - startY) / cellHeight));
+        int maxRow = Math.min(backgroundSprites.getRows() - 1,
+                MathUtils.floor((camera.position.y + halfHeight - startY) / cellHeight));
+
+        for (int column = minColumn; column <= maxColumn; column++) {
+            for (int row = minRow; row <= maxRow; row++) {
+                backgroundSprites.get(column, row).draw(batch);
+            }
+        }
     }
 }
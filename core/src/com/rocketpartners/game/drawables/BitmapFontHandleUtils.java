@@ -1,5 +1,6 @@
 package com.rocketpartners.game.drawables;
 
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.math.Vector2;
 import com.engine.drawables.fonts.BitmapFontHandle;
 import com.engine.drawables.sorting.DrawingPriority;
@@ -7,12 +8,47 @@ import com.engine.drawables.sorting.DrawingSection;
 import kotlin.jvm.functions.Function0;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 
 import static com.rocketpartners.game.Constants.ConstVals;
 
 public class BitmapFontHandleUtils {
 
+    private static BitmapFont defaultFont;
+
+    /**
+     * Shared default font for cached font handles. Engine font handles each load their own copy of the default font.
+     */
+    public static BitmapFont getDefaultFont() {
+        if (defaultFont == null) {
+            defaultFont = new BitmapFont();
+        }
+        return defaultFont;
+    }
+
+    private static CachedFontHandle createCached() {
+        return new CachedFontHandle(getDefaultFont(), new DrawingPriority(DrawingSection.FOREGROUND, 1));
+    }
+
+    public static CachedFontHandle createCached(@NotNull String text) {
+        CachedFontHandle font = createCached();
+        font.setText(text);
+        return font;
+    }
+
+    public static CachedFontHandle createCached(@NotNull Supplier<? extends CharSequence> textSupplier) {
+        CachedFontHandle font = createCached();
+        font.setTextSupplier(textSupplier);
+        return font;
+    }
+
+    public static CachedFontHandle createCached(@NotNull String prefix, @NotNull IntSupplier intSupplier) {
+        CachedFontHandle font = createCached();
+        font.setIntSupplier(prefix, intSupplier);
+        return font;
+    }
+
     public static BitmapFontHandle create(@NotNull Supplier<String> textSupplier) {
         return new BitmapFontHandle(
                 (Function0<String>) textSupplier::get,
@@ -0,0 +1,149 @@
+package com.rocketpartners.game.drawables;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.math.Vector2;
+import com.engine.drawables.sorting.DrawingPriority;
+import com.engine.drawables.sorting.IComparableDrawable;
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Font handle that keeps its text in a reused string builder and only lays the text out again when it changes.
+ * The text is either set directly, pulled from a char sequence supplier and compared by content, or formatted as a
+ * fixed prefix followed by an int that is only appended again when the supplied value changes.
+ */
+public class CachedFontHandle implements IComparableDrawable<Batch> {
+
+    @Getter
+    private final BitmapFont font;
+    @Getter
+    private final Vector2 position;
+    @Getter
+    private final DrawingPriority priority;
+    private final GlyphLayout layout;
+    private final StringBuilder text;
+    @Getter
+    @Setter
+    private boolean centerX;
+    @Getter
+    @Setter
+    private boolean centerY;
+    @Getter
+    @Setter
+    private boolean hidden;
+    private IntSupplier intSupplier;
+    private Supplier<? extends CharSequence> textSupplier;
+    private int prefixLength;
+    private int lastInt;
+    private boolean hasInt;
+    private boolean dirty;
+
+    public CachedFontHandle(@NotNull BitmapFont font, @NotNull DrawingPriority priority) {
+        this.font = font;
+        this.priority = priority;
+        position = new Vector2();
+        centerX = true;
+        centerY = true;
+        layout = new GlyphLayout();
+        text = new StringBuilder();
+        dirty = true;
+    }
+
+    public void setText(@NotNull CharSequence text) {
+        intSupplier = null;
+        textSupplier = null;
+        replaceText(text);
+    }
+
+    public void setTextSupplier(@NotNull Supplier<? extends CharSequence> textSupplier) {
+        intSupplier = null;
+        this.textSupplier = textSupplier;
+    }
+
+    public void setIntSupplier(@NotNull String prefix, @NotNull IntSupplier intSupplier) {
+        textSupplier = null;
+        this.intSupplier = intSupplier;
+        text.setLength(0);
+        text.append(prefix);
+        prefixLength = prefix.length();
+        hasInt = false;
+    }
+
+    public CharSequence getText() {
+        refresh();
+        return text;
+    }
+
+    public float getWidth() {
+        refresh();
+        return layout.width;
+    }
+
+    public float getHeight() {
+        refresh();
+        return layout.height;
+    }
+
+    @Override
+    public void draw(@NotNull Batch batch) {
+        if (hidden) {
+            return;
+        }
+        refresh();
+        float x = centerX ? position.x - layout.width / 2f : position.x;
+        float y = centerY ? position.y - layout.height / 2f : position.y;
+        font.draw(batch, layout, x, y);
+    }
+
+    @Override
+    public int compareTo(@NotNull IComparableDrawable<Batch> other) {
+        return IComparableDrawable.DefaultImpls.compareTo(this, other);
+    }
+
+    private void refresh() {
+        if (intSupplier != null) {
+            int value = intSupplier.getAsInt();
+            if (!hasInt || value != lastInt) {
+                lastInt = value;
+                hasInt = true;
+                text.setLength(prefixLength);
+                text.append(value);
+                dirty = true;
+            }
+        } else if (textSupplier != null) {
+            replaceText(textSupplier.get());
+        }
+        if (dirty) {
+            layout.setText(font, text);
+            dirty = false;
+        }
+    }
+
+    private void replaceText(@NotNull CharSequence newText) {
+        if (contentEquals(newText)) {
+            return;
+        }
+        text.setLength(0);
+        text.append(newText);
+        dirty = true;
+    }
+
+    private boolean contentEquals(@NotNull CharSequence other) {
+        int length = text.length();
+        if (length != other.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(i) != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
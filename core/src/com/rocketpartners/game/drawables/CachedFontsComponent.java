@@ -0,0 +1,34 @@
+package com.rocketpartners.game.drawables;
+
+import com.badlogic.gdx.utils.OrderedMap;
+import com.engine.components.IGameComponent;
+import com.engine.entities.IGameEntity;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+@Getter
+public class CachedFontsComponent implements IGameComponent {
+
+    private final IGameEntity entity;
+    private final OrderedMap<Object, CachedFontHandle> fonts;
+
+    public CachedFontsComponent(@NotNull IGameEntity entity) {
+        this.entity = entity;
+        fonts = new OrderedMap<>();
+    }
+
+    public CachedFontsComponent(@NotNull IGameEntity entity, @NotNull Object key, @NotNull CachedFontHandle font) {
+        this(entity);
+        fonts.put(key, font);
+    }
+
+    @Override
+    public void reset() {
+    }
+
+    @NotNull
+    @Override
+    public String print() {
+        return IGameComponent.DefaultImpls.print(this);
+    }
+}
@@ -0,0 +1,45 @@
+package com.rocketpartners.game.drawables;
+
+import com.engine.common.ClassInstanceUtils;
+import com.engine.common.objects.ImmutableCollection;
+import com.engine.common.objects.MutableOrderedSet;
+import com.engine.entities.IGameEntity;
+import com.engine.systems.GameSystem;
+import kotlin.reflect.KClass;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Collects the visible {@link CachedFontHandle}s of every entity with a {@link CachedFontsComponent}.
+ */
+public class CachedFontsSystem extends GameSystem {
+
+    private final Consumer<CachedFontHandle> fontsCollector;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CachedFontsSystem(@NotNull Consumer<CachedFontHandle> fontsCollector) {
+        super(new KClass[]{ClassInstanceUtils.convertToKClass(CachedFontsComponent.class)},
+                new MutableOrderedSet<>());
+        this.fontsCollector = fontsCollector;
+    }
+
+    @Override
+    public void process$2D_Game_Engine(boolean on, @NotNull ImmutableCollection<IGameEntity> entities, float delta) {
+        if (!on) {
+            return;
+        }
+        for (IGameEntity entity : entities) {
+            CachedFontsComponent fontsComponent =
+                    entity.getComponent(ClassInstanceUtils.convertToKClass(CachedFontsComponent.class));
+            if (fontsComponent == null) {
+                continue;
+            }
+            for (CachedFontHandle font : fontsComponent.getFonts().values()) {
+                if (!font.isHidden()) {
+                    fontsCollector.accept(font);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.rocketpartners.game.drawables;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Rectangle;
+import com.engine.common.shapes.IGameShape2D;
+import com.engine.drawables.shapes.DrawableShapesSystem;
+import com.engine.drawables.shapes.IDrawableShape;
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Debug shapes overlay that can be toggled at runtime with a hotkey. While the overlay is off its system reports
+ * itself as off, so no shape suppliers are invoked and nothing is queued. While it is on, shapes outside the camera
+ * are dropped before they are queued, and the rest are drawn in one shape renderer pass ordered by shape type.
+ */
+public class DebugShapesOverlay {
+
+    private final Camera camera;
+    private final int toggleKey;
+    private final RenderQueue<IDrawableShape> shapes;
+    private final Rectangle view;
+    @Getter
+    private final DrawableShapesSystem system;
+    @Getter
+    @Setter
+    private boolean on;
+    private boolean viewStale;
+
+    public DebugShapesOverlay(@NotNull Camera camera, int toggleKey, boolean on) {
+        this.camera = camera;
+        this.toggleKey = toggleKey;
+        this.on = on;
+        shapes = new RenderQueue<>(shape -> shape.getShapeType().ordinal());
+        view = new Rectangle();
+        system = new DebugShapesSystem();
+        viewStale = true;
+    }
+
+    /**
+     * Returns whether the toggle hotkey was just pressed. Input is only read on the render thread, so it is polled
+     * there and {@link #toggle()} is run by whichever thread updates the overlay's system.
+     */
+    public boolean isTogglePressed() {
+        return Gdx.input.isKeyJustPressed(toggleKey);
+    }
+
+    public void toggle() {
+        on = !on;
+    }
+
+    /**
+     * Must be called once before the shapes of a frame are collected, on the thread that collects them.
+     */
+    public void startFrame() {
+        viewStale = true;
+    }
+
+    public void draw(@NotNull ShapeRenderer shapeRenderer) {
+        if (!on) {
+            shapes.clear();
+            return;
+        }
+        if (shapes.isEmpty()) {
+            return;
+        }
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
+        shapes.forEach(shape -> shape.draw(shapeRenderer));
+        shapes.clear();
+        shapeRenderer.end();
+    }
+
+    /**
+     * Hands the queued shapes to the consumer and clears the queue, for when the shapes are drawn elsewhere.
+     */
+    public void drain(@NotNull Consumer<IDrawableShape> consumer) {
+        shapes.forEach(consumer);
+        shapes.clear();
+    }
+
+    private void collect(@NotNull IDrawableShape shape) {
+        if (viewStale) {
+            float zoom = camera instanceof OrthographicCamera orthographicCamera ? orthographicCamera.zoom : 1f;
+            float width = camera.viewportWidth * zoom;
+            float height = camera.viewportHeight * zoom;
+            view.set(camera.position.x - width / 2f, camera.position.y - height / 2f, width, height);
+            viewStale = false;
+        }
+        if (shape instanceof Rectangle rectangle) {
+            if (!view.overlaps(rectangle)) {
+                return;
+            }
+        } else if (shape instanceof IGameShape2D gameShape && !view.overlaps(gameShape.getBoundingRectangle())) {
+            return;
+        }
+        shapes.add(shape);
+    }
+
+    private class DebugShapesSystem extends DrawableShapesSystem {
+
+        private DebugShapesSystem() {
+            super((Consumer<IDrawableShape>) DebugShapesOverlay.this::collect, true);
+        }
+
+        @Override
+        public boolean getOn() {
+            return DebugShapesOverlay.this.on && super.getOn();
+        }
+    }
+}
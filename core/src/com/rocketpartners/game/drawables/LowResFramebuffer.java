@@ -0,0 +1,70 @@
+package com.rocketpartners.game.drawables;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.graphics.glutils.HdpiUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Offscreen framebuffer at the native resolution of the game. Passes drawn between {@link #begin()} and
+ * {@link #end()} only cost fragment work at that resolution, and {@link #blit(Batch, Viewport)} upscales the result
+ * to the viewport's screen area in a single nearest-filtered draw. The framebuffer is cleared to an opaque color and
+ * blitted without blending, so the passes look the same as when drawn straight to the screen.
+ */
+public class LowResFramebuffer implements Disposable {
+
+    private final FrameBuffer frameBuffer;
+    private final OrthographicCamera blitCamera;
+    private final Color clearColor;
+
+    public LowResFramebuffer(int width, int height, @NotNull Color clearColor) {
+        this.clearColor = new Color(clearColor);
+        frameBuffer = new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
+        frameBuffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        blitCamera = new OrthographicCamera(width, height);
+        blitCamera.position.set(width / 2f, height / 2f, 0f);
+        blitCamera.update();
+    }
+
+    public void begin() {
+        frameBuffer.begin();
+        Gdx.gl.glClearColor(clearColor.r, clearColor.g, clearColor.b, clearColor.a);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+    }
+
+    public void end() {
+        frameBuffer.end();
+    }
+
+    /**
+     * Draws the framebuffer onto the screen area of the viewport, which is set as the GL viewport first since ending
+     * the framebuffer resets it to the whole window. The viewport's camera is left alone, since it may belong to the
+     * simulation thread. The batch must not be drawing.
+     */
+    public void blit(@NotNull Batch batch, @NotNull Viewport viewport) {
+        HdpiUtils.glViewport(viewport.getScreenX(), viewport.getScreenY(), viewport.getScreenWidth(),
+                viewport.getScreenHeight());
+        Texture texture = frameBuffer.getColorBufferTexture();
+        int width = frameBuffer.getWidth();
+        int height = frameBuffer.getHeight();
+        batch.setProjectionMatrix(blitCamera.combined);
+        batch.disableBlending();
+        batch.begin();
+        batch.draw(texture, 0f, 0f, width, height, 0, 0, width, height, false, true);
+        batch.end();
+        batch.enableBlending();
+    }
+
+    @Override
+    public void dispose() {
+        frameBuffer.dispose();
+    }
+}
@@ -0,0 +1,52 @@
+package com.rocketpartners.game.drawables;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import lombok.Getter;
+
+/**
+ * Sprite batch that counts render calls, flushes and texture switches per frame. {@link #startFrame()} must be
+ * called once at the start of every frame; the counts of the frame before are then available through the
+ * {@code lastFrame} getters.
+ */
+public class ProfilingSpriteBatch extends SpriteBatch {
+
+    private int frameRenderCalls;
+    private int frameFlushes;
+    private int frameTextureSwitches;
+
+    @Getter
+    private int lastFrameRenderCalls;
+    @Getter
+    private int lastFrameFlushes;
+    @Getter
+    private int lastFrameTextureSwitches;
+
+    public void startFrame() {
+        lastFrameRenderCalls = frameRenderCalls;
+        lastFrameFlushes = frameFlushes;
+        lastFrameTextureSwitches = frameTextureSwitches;
+        frameRenderCalls = 0;
+        frameFlushes = 0;
+        frameTextureSwitches = 0;
+    }
+
+    @Override
+    public void end() {
+        super.end();
+        // the batch resets its own render call count on every begin
+        frameRenderCalls += renderCalls;
+    }
+
+    @Override
+    public void flush() {
+        frameFlushes++;
+        super.flush();
+    }
+
+    @Override
+    protected void switchTexture(Texture texture) {
+        frameTextureSwitches++;
+        super.switchTexture(texture);
+    }
+}
@@ -0,0 +1,100 @@
+package com.rocketpartners.game.drawables;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Render queue that buckets items by an integer priority. Buckets and their backing arrays are kept across frames
+ * and only emptied by {@link #clear()}, so filling and draining the queue every frame allocates nothing once every
+ * priority in use has been seen. Items are visited in ascending priority and, within a priority, in the order they
+ * were added, or stably sorted by the bucket order if one is given.
+ */
+public class RenderQueue<T> {
+
+    private final ToIntFunction<T> priorityFunction;
+    private final Comparator<? super T> bucketOrder;
+    private final IntMap<Array<T>> buckets;
+    private final IntArray priorities;
+    private int size;
+    private boolean sorted;
+
+    public RenderQueue(@NotNull ToIntFunction<T> priorityFunction) {
+        this(priorityFunction, null);
+    }
+
+    public RenderQueue(@NotNull ToIntFunction<T> priorityFunction, Comparator<? super T> bucketOrder) {
+        this.priorityFunction = priorityFunction;
+        this.bucketOrder = bucketOrder;
+        buckets = new IntMap<>();
+        priorities = new IntArray();
+    }
+
+    public void add(@NotNull T item) {
+        int priority = priorityFunction.applyAsInt(item);
+        Array<T> bucket = buckets.get(priority);
+        if (bucket == null) {
+            bucket = new Array<>();
+            buckets.put(priority, bucket);
+            insertPriority(priority);
+        }
+        bucket.add(item);
+        size++;
+        sorted = false;
+    }
+
+    public void forEach(@NotNull Consumer<? super T> action) {
+        if (!sorted && bucketOrder != null) {
+            for (int i = 0; i < priorities.size; i++) {
+                Array<T> bucket = buckets.get(priorities.get(i));
+                if (bucket.size > 1) {
+                    bucket.sort(bucketOrder);
+                }
+            }
+        }
+        sorted = true;
+        for (int i = 0; i < priorities.size; i++) {
+            Array<T> bucket = buckets.get(priorities.get(i));
+            for (int j = 0; j < bucket.size; j++) {
+                action.accept(bucket.get(j));
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        for (int i = 0; i < priorities.size; i++) {
+            buckets.get(priorities.get(i)).clear();
+        }
+        size = 0;
+    }
+
+    private void insertPriority(int priority) {
+        int low = 0;
+        int high = priorities.size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (priorities.get(mid) < priority) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        priorities.insert(low, priority);
+    }
+}
@@ -0,0 +1,213 @@
+package com.rocketpartners.game.drawables;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.engine.common.GameLogger;
+import com.engine.common.shapes.GameRectangle;
+import com.engine.common.shapes.IGameShape2D;
+import com.engine.drawables.fonts.BitmapFontHandle;
+import com.engine.drawables.shapes.IDrawableShape;
+import com.engine.drawables.sorting.DrawingSection;
+import com.engine.drawables.sorting.IComparableDrawable;
+import com.engine.drawables.sprites.GameSprite;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Copy of everything the render thread needs to draw one simulation tick: the background and game cameras, whether
+ * the game is paused, the sprites and texts of every drawing section in draw order, and the debug shapes. Entries are
+ * pooled, so a snapshot only allocates while it grows.
+ */
+public class RenderSnapshot {
+
+    private static final String TAG = "RenderSnapshot";
+
+    private static final class Entry {
+        private final Sprite sprite = new Sprite();
+        private final StringBuilder text = new StringBuilder();
+        private final GlyphLayout layout = new GlyphLayout();
+        private BitmapFont font;
+        private boolean isText;
+        private float x;
+        private float y;
+    }
+
+    private static final class CameraState {
+        private final Vector3 position = new Vector3();
+        private float zoom = 1f;
+
+        private void set(Camera camera) {
+            position.set(camera.position);
+            zoom = camera instanceof OrthographicCamera orthographicCamera ? orthographicCamera.zoom : 1f;
+        }
+
+        private void apply(Camera camera) {
+            camera.position.set(position);
+            if (camera instanceof OrthographicCamera orthographicCamera) {
+                orthographicCamera.zoom = zoom;
+            }
+            camera.update();
+        }
+    }
+
+    private static final class Section {
+        private final Array<Entry> entries = new Array<>();
+        private int size;
+
+        private Entry next() {
+            if (size == entries.size) {
+                entries.add(new Entry());
+            }
+            return entries.get(size++);
+        }
+    }
+
+    private final CameraState backgroundCamera;
+    private final CameraState gameCamera;
+    @Getter
+    private boolean paused;
+    private final ObjectMap<DrawingSection, Section> sections;
+    private final ObjectMap<DrawingSection, Consumer<IComparableDrawable<Batch>>> collectors;
+    private final Array<GameRectangle> rectangles;
+    private final Array<IDrawableShape> shapes;
+    private final ObjectSet<Class<?>> unsupported;
+    private int rectanglesSize;
+
+    public RenderSnapshot() {
+        backgroundCamera = new CameraState();
+        gameCamera = new CameraState();
+        sections = new ObjectMap<>();
+        collectors = new ObjectMap<>();
+        for (DrawingSection section : DrawingSection.values()) {
+            sections.put(section, new Section());
+            collectors.put(section, drawable -> add(section, drawable));
+        }
+        rectangles = new Array<>();
+        shapes = new Array<>();
+        unsupported = new ObjectSet<>();
+    }
+
+    public void begin(@NotNull Camera backgroundCamera, @NotNull Camera gameCamera, boolean paused) {
+        this.paused = paused;
+        this.backgroundCamera.set(backgroundCamera);
+        this.gameCamera.set(gameCamera);
+        for (Section section : sections.values()) {
+            section.size = 0;
+        }
+        shapes.clear();
+        rectanglesSize = 0;
+    }
+
+    /**
+     * Moves the render thread's cameras to where the simulation's cameras were when the snapshot was taken.
+     */
+    public void applyCameras(@NotNull Camera backgroundCamera, @NotNull Camera gameCamera) {
+        this.backgroundCamera.apply(backgroundCamera);
+        this.gameCamera.apply(gameCamera);
+    }
+
+    public Consumer<IComparableDrawable<Batch>> getCollector(@NotNull DrawingSection section) {
+        return collectors.get(section);
+    }
+
+    public void add(@NotNull DrawingSection section, @NotNull IComparableDrawable<Batch> drawable) {
+        if (drawable instanceof GameSprite sprite) {
+            if (!sprite.getHidden() && sprite.getTexture() != null) {
+                Entry entry = sections.get(section).next();
+                entry.isText = false;
+                entry.sprite.set(sprite);
+            }
+        } else if (drawable instanceof CachedFontHandle font) {
+            if (!font.isHidden()) {
+                addText(sections.get(section), font.getFont(), font.getText(), font.getPosition(), font.isCenterX(),
+                        font.isCenterY());
+            }
+        } else if (drawable instanceof BitmapFontHandle font) {
+            if (!font.getHidden()) {
+                addText(sections.get(section), BitmapFontHandleUtils.getDefaultFont(),
+                        font.getTextSupplier().invoke(), font.getPosition(), font.getCenterX(), font.getCenterY());
+            }
+        } else if (unsupported.add(drawable.getClass())) {
+            GameLogger.INSTANCE.debug(TAG, "add(): cannot snapshot " + drawable.getClass().getSimpleName());
+        }
+    }
+
+    public void addShape(@NotNull IDrawableShape shape) {
+        if (shape instanceof Rectangle rectangle) {
+            if (rectanglesSize == rectangles.size) {
+                rectangles.add(new GameRectangle());
+            }
+            GameRectangle copy = rectangles.get(rectanglesSize++);
+            copy.set(rectangle);
+            copy.setColor(shape.getColor());
+            copy.setShapeType(shape.getShapeType());
+            shapes.add(copy);
+        } else if (shape instanceof IGameShape2D gameShape) {
+            IGameShape2D copy = gameShape.copy();
+            copy.setColor(shape.getColor());
+            copy.setShapeType(shape.getShapeType());
+            shapes.add(copy);
+        }
+    }
+
+    public void draw(@NotNull DrawingSection section, @NotNull Batch batch) {
+        Section drawables = sections.get(section);
+        for (int i = 0; i < drawables.size; i++) {
+            Entry entry = drawables.entries.get(i);
+            if (entry.isText) {
+                entry.font.draw(batch, entry.layout, entry.x, entry.y);
+            } else {
+                entry.sprite.draw(batch);
+            }
+        }
+    }
+
+    public void drawShapes(@NotNull ShapeRenderer shapeRenderer) {
+        if (shapes.isEmpty()) {
+            return;
+        }
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
+        shapes.forEach(shape -> shape.draw(shapeRenderer));
+        shapeRenderer.end();
+    }
+
+    private void addText(@NotNull Section section, @NotNull BitmapFont font, @NotNull CharSequence text,
+                         @NotNull Vector2 position, boolean centerX, boolean centerY) {
+        Entry entry = section.next();
+        entry.isText = true;
+        if (entry.font != font || !contentEquals(entry.text, text)) {
+            entry.font = font;
+            entry.text.setLength(0);
+            entry.text.append(text);
+            entry.layout.setText(font, entry.text);
+        }
+        entry.x = centerX ? position.x - entry.layout.width / 2f : position.x;
+        entry.y = centerY ? position.y - entry.layout.height / 2f : position.y;
+    }
+
+    private static boolean contentEquals(@NotNull CharSequence a, @NotNull CharSequence b) {
+        int length = a.length();
+        if (length != b.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (a.charAt(i) != b.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
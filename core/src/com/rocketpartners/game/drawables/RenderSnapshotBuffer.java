@@ -0,0 +1,56 @@
+package com.rocketpartners.game.drawables;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Hands render snapshots from the simulation thread to the render thread. The simulation thread writes into its
+ * back snapshot and publishes it, and the render thread acquires the latest published snapshot. A spare snapshot
+ * sits between the two, so neither thread waits for the other and the render thread never sees a snapshot that is
+ * still being written.
+ */
+public class RenderSnapshotBuffer {
+
+    private final RenderSnapshot[] snapshots;
+    private int writeIndex;
+    private int readyIndex;
+    private int readIndex;
+    private boolean fresh;
+    private boolean published;
+
+    public RenderSnapshotBuffer() {
+        snapshots = new RenderSnapshot[]{new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot()};
+        writeIndex = 0;
+        readyIndex = 1;
+        readIndex = 2;
+    }
+
+    /**
+     * Returns the snapshot to write into. Must only be called from the simulation thread.
+     */
+    public RenderSnapshot getWriteSnapshot() {
+        return snapshots[writeIndex];
+    }
+
+    public synchronized void publish() {
+        int index = writeIndex;
+        writeIndex = readyIndex;
+        readyIndex = index;
+        fresh = true;
+        published = true;
+    }
+
+    /**
+     * Returns the latest published snapshot, or null if none has been published yet. The snapshot stays valid until
+     * the next call.
+     */
+    @Nullable
+    public synchronized RenderSnapshot acquire() {
+        if (fresh) {
+            int index = readIndex;
+            readIndex = readyIndex;
+            readyIndex = index;
+            fresh = false;
+        }
+        return published ? snapshots[readIndex] : null;
+    }
+}
@@ -0,0 +1,86 @@
+package com.rocketpartners.game.drawables;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.engine.drawables.sorting.DrawingSection;
+import com.engine.drawables.sprites.GameSprite;
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Tests sprites against the camera of their drawing section before they are queued. Each camera's view is padded by
+ * the margin and computed once per frame. {@link #startFrame()} must be called once before the sprites of a frame are
+ * tested; the counts of the frame before are then available through the {@code lastFrame} getters.
+ */
+public class SpriteCuller {
+
+    private final Camera[] cameras;
+    private final Rectangle[] views;
+    private final boolean[] viewsStale;
+    @Getter
+    @Setter
+    private float margin;
+    @Getter
+    @Setter
+    private boolean enabled;
+
+    private int frameCulled;
+    private int frameQueued;
+
+    @Getter
+    private int lastFrameCulled;
+    @Getter
+    private int lastFrameQueued;
+
+    public SpriteCuller(@NotNull ObjectMap<DrawingSection, Camera> cameras, float margin) {
+        this.margin = margin;
+        int sections = DrawingSection.values().length;
+        this.cameras = new Camera[sections];
+        views = new Rectangle[sections];
+        viewsStale = new boolean[sections];
+        for (ObjectMap.Entry<DrawingSection, Camera> entry : cameras) {
+            this.cameras[entry.key.ordinal()] = entry.value;
+            views[entry.key.ordinal()] = new Rectangle();
+        }
+        Arrays.fill(viewsStale, true);
+        enabled = true;
+    }
+
+    public void startFrame() {
+        lastFrameCulled = frameCulled;
+        lastFrameQueued = frameQueued;
+        frameCulled = 0;
+        frameQueued = 0;
+        Arrays.fill(viewsStale, true);
+    }
+
+    public boolean isVisible(@NotNull GameSprite sprite) {
+        Rectangle view = getView(sprite.getPriority().getSection());
+        if (!enabled || view == null || view.overlaps(sprite.getBoundingRectangle())) {
+            frameQueued++;
+            return true;
+        }
+        frameCulled++;
+        return false;
+    }
+
+    private Rectangle getView(@NotNull DrawingSection section) {
+        int index = section.ordinal();
+        Rectangle view = views[index];
+        if (view == null || !viewsStale[index]) {
+            return view;
+        }
+        Camera camera = cameras[index];
+        float zoom = camera instanceof OrthographicCamera orthographicCamera ? orthographicCamera.zoom : 1f;
+        float width = camera.viewportWidth * zoom + 2f * margin;
+        float height = camera.viewportHeight * zoom + 2f * margin;
+        view.set(camera.position.x - width / 2f, camera.position.y - height / 2f, width, height);
+        viewsStale[index] = false;
+        return view;
+    }
+}
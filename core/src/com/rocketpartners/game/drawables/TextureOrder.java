@@ -0,0 +1,29 @@
+package com.rocketpartners.game.drawables;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Comparator;
+
+/**
+ * Orders drawables of the same priority so that the ones sharing a texture are drawn back to back and the sprite
+ * batch does not have to flush between them. Drawables that do not expose a texture, like fonts, are grouped by
+ * class instead.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TextureOrder {
+
+    public static final Comparator<Object> INSTANCE = (a, b) -> Integer.compare(getKey(a), getKey(b));
+
+    private static int getKey(Object drawable) {
+        if (drawable instanceof Sprite sprite) {
+            Texture texture = sprite.getTexture();
+            if (texture != null) {
+                return System.identityHashCode(texture);
+            }
+        }
+        return System.identityHashCode(drawable.getClass());
+    }
+}
@@ -1,8 +1,7 @@
 package com.rocketpartners.game.entities;
 
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ObjectMap;
@@ -28,8 +27,6 @@ import com.engine.controller.buttons.ButtonActuator;
 import com.engine.controller.polling.IControllerPoller;
 import com.engine.damage.IDamageable;
 import com.engine.damage.IDamager;
-import com.engine.drawables.fonts.BitmapFontHandle;
-import com.engine.drawables.fonts.FontsComponent;
 import com.engine.drawables.shapes.DrawableShapesComponent;
 import com.engine.drawables.shapes.IDrawableShape;
 import com.engine.drawables.sorting.DrawingPriority;
@@ -45,12 +42,16 @@ import com.engine.points.PointsComponent;
 import com.engine.updatables.UpdatablesComponent;
 import com.engine.world.*;
 import com.rocketpartners.game.RocketPartnersGame;
+import com.rocketpartners.game.animations.AnimationCursor;
+import com.rocketpartners.game.animations.AnimationDefs;
 import com.rocketpartners.game.assets.SoundAsset;
 import com.rocketpartners.game.assets.SpriteSheetAsset;
 import com.rocketpartners.game.behaviors.BehaviorType;
 import com.rocketpartners.game.controllers.ControllerButton;
 import com.rocketpartners.game.damage.DamageNegotation;
 import com.rocketpartners.game.drawables.BitmapFontHandleUtils;
+import com.rocketpartners.game.drawables.CachedFontHandle;
+import com.rocketpartners.game.drawables.CachedFontsComponent;
 import com.rocketpartners.game.drawables.DrawingPriorities;
 import com.rocketpartners.game.entities.contracts.IDirectionRotatable;
 import com.rocketpartners.game.entities.contracts.IGravityListener;
@@ -72,7 +73,7 @@ import static com.rocketpartners.game.Constants.ConstVals;
 @Getter
 @Setter
 public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IAudioEntity, ISpritesEntity,
-        IAnimatedEntity, IFontsEntity, IBehaviorsEntity, IEventListener, IDamageable, IFaceable, IBoundsSupplier,
+        IAnimatedEntity, IBehaviorsEntity, IEventListener, IDamageable, IFaceable, IBoundsSupplier,
         IDirectionRotatable, IGravityListener {
 
     public enum AButtonTask {
@@ -166,11 +167,13 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
     private static final float SLIP_ANIMATION_THRESHOLD = 0.3f;
 
     private static ObjectMap<Class<? extends IDamager>, DamageNegotation> damageNegotiations;
-    private static Map<String, TextureRegion> regions;
 
     private final ObjectSet<Object> eventKeyMask;
     private final Map<String, Timer> timers;
 
+    private final GameRectangle interpolatedBounds;
+
+    private BodySenses bodySenses;
     private boolean canMove;
     private boolean running;
     private boolean invincible;
@@ -186,6 +189,7 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
         super(game);
         eventKeyMask = new ObjectSet<>();
         jetpackStamina = new JetpackStamina();
+        interpolatedBounds = new GameRectangle();
 
         timers = new HashMap<>();
         timers.put("shoot_anim", new Timer(SHOOT_ANIMATION_DURATION));
@@ -202,23 +206,6 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
 
     @Override
     public void init() {
-        if (regions == null) {
-            regions = new HashMap<>();
-            TextureAtlas atlas = getGame().getAssMan().get(
-                    SpriteSheetAsset.PLAYER_8BIT_SPRITE_SHEET.getSource(), TextureAtlas.class);
-            regions.put("stand", atlas.findRegion("stand"));
-            regions.put("stand-shoot", atlas.findRegion("stand-shoot"));
-            regions.put("run", atlas.findRegion("run"));
-            regions.put("slip", atlas.findRegion("slip"));
-            regions.put("jump", atlas.findRegion("jump"));
-            regions.put("brake", atlas.findRegion("brake"));
-            regions.put("shoot", atlas.findRegion("shoot"));
-            regions.put("jetpack", atlas.findRegion("jetpack"));
-            regions.put("jetdash", atlas.findRegion("thrust"));
-            regions.put("damaged", atlas.findRegion("damaged"));
-            regions.put("jetpackFlame", atlas.findRegion("jetpackFlame"));
-            regions.put("wallslide", atlas.findRegion("wallslide"));
-        }
         addComponent(new AudioComponent(this));
         addComponent(defineBodyComponent());
         addComponent(defineBehaviorsComponent());
@@ -238,6 +225,7 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
         assert spawnBounds != null;
         Vector2 spawnPoint = spawnBounds.getBottomCenterPoint();
         getBody().setBottomCenterToPoint(spawnPoint);
+        BodyExtensions.getMotionHistory(getBody()).reset();
 
         GravityType gravityType = GravityType.valueOf(props.getOrDefault(ConstKeys.GRAVITY_TYPE,
                 "normal_gravity", String.class).toUpperCase());
@@ -308,6 +296,11 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
         return getBody();
     }
 
+    public GameRectangle getInterpolatedBounds() {
+        float alpha = ((RocketPartnersGame) getGame()).getFrameClock().getAlpha();
+        return BodyExtensions.getInterpolatedBounds(getBody(), alpha, interpolatedBounds);
+    }
+
     @Override
     public void enterAreaOfGravityType(@NotNull GravityType gravityType) {
         this.gravityType = gravityType;
@@ -319,13 +312,15 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
     }
 
     private BodyComponent defineBodyComponent() {
-        Body body = Body.Companion.createBody(BodyType.DYNAMIC);
+        GameBody body = new GameBody(BodyType.DYNAMIC);
         body.setColor(Color.BROWN);
         body.width = 0.85f * ConstVals.PPM;
         body.height = 1.25f * ConstVals.PPM;
         PhysicsData physicsData = body.getPhysics();
         physicsData.setVelocityClamp(new Vector2(CLAMP_VEL_X, CLAMP_VEL_Y).scl(ConstVals.PPM));
         physicsData.setTakeFrictionFromOthers(true);
+        BodyExtensions.setFastMoving(body, true);
+        BodyExtensions.setCanSleep(body, false);
 
         Array<Function0<IDrawableShape>> debugShapesSupplier = new Array<>();
 
@@ -366,7 +361,7 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
 
         body.getPreProcess().put(ConstKeys.DEFAULT, delta -> {
             float gravity;
-            if (gravityType != GravityType.NO_GRAVITY && BodyExtensions.isBodySensing(body, BodySense.FEET_ON_GROUND)) {
+            if (gravityType != GravityType.NO_GRAVITY && bodySenses.isSensing(BodySense.FEET_ON_GROUND)) {
                 gravity = ConstVals.GROUND_GRAVITY;
             } else {
                 gravity = switch (gravityType) {
@@ -390,7 +385,9 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
                 debugShapesSupplier, true);
         addComponent(drawableShapesComponent);
 
-        return BodyComponentCreator.create(this, body);
+        BodyComponent bodyComponent = BodyComponentCreator.create(this, body);
+        bodySenses = body.getBodySenses();
+        return bodyComponent;
     }
 
     private UpdatablesComponent defineUpdatablesComponent() {
@@ -425,16 +422,16 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
 
         Behavior wallslideBehavior = new Behavior(
                 (delta) -> {
-                    if (isDamaged() || BodyExtensions.isBodySensing(getBody(), BodySense.FEET_ON_GROUND) ||
+                    if (isDamaged() || bodySenses.isSensing(BodySense.FEET_ON_GROUND) ||
                             isAnyBehaviorActive(BehaviorType.JUMPING, BehaviorType.JETDASHING,
                                     BehaviorType.JETPACKING)) {
                         return false;
                     }
 
                     IControllerPoller controllerPoller = getGame().getControllerPoller();
-                    boolean left = BodyExtensions.isBodySensing(getBody(), BodySense.SIDE_TOUCHING_BLOCK_LEFT) &&
+                    boolean left = bodySenses.isSensing(BodySense.SIDE_TOUCHING_BLOCK_LEFT) &&
                             controllerPoller.isPressed(ControllerButton.LEFT);
-                    boolean right = BodyExtensions.isBodySensing(getBody(), BodySense.SIDE_TOUCHING_BLOCK_RIGHT) &&
+                    boolean right = bodySenses.isSensing(BodySense.SIDE_TOUCHING_BLOCK_RIGHT) &&
                             controllerPoller.isPressed(ControllerButton.RIGHT);
                     return left || right;
                 },
@@ -448,8 +445,8 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
                 (delta) -> {
                     IControllerPoller controllerPoller = getGame().getControllerPoller();
                     if (isDamaged() || !controllerPoller.isPressed(ControllerButton.A) ||
-                            isBehaviorActive(BehaviorType.JETDASHING) || BodyExtensions.isBodySensing(getBody(),
-                            BodySense.HEAD_TOUCHING_BLOCK)) {
+                            isBehaviorActive(BehaviorType.JETDASHING) ||
+                            bodySenses.isSensing(BodySense.HEAD_TOUCHING_BLOCK)) {
                         return false;
                     }
                     if (isBehaviorActive(BehaviorType.JUMPING)) {
@@ -463,7 +460,7 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
                     } else {
                         return aButtonTask == AButtonTask.JUMP &&
                                 controllerPoller.isJustPressed(ControllerButton.A) &&
-                                (BodyExtensions.isBodySensing(getBody(), BodySense.FEET_ON_GROUND) ||
+                                (bodySenses.isSensing(BodySense.FEET_ON_GROUND) ||
                                         isBehaviorActive(BehaviorType.WALL_SLIDING));
                     }
                 },
@@ -490,7 +487,7 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
                     IControllerPoller controllerPoller = getGame().getControllerPoller();
                     if (isDamaged() || !jetpackStamina.hasStamina() ||
                             !controllerPoller.isPressed(ControllerButton.A) ||
-                            BodyExtensions.isBodySensing(getBody(), BodySense.FEET_ON_GROUND) ||
+                            bodySenses.isSensing(BodySense.FEET_ON_GROUND) ||
                             isAnyBehaviorActive(BehaviorType.WALL_SLIDING, BehaviorType.JETDASHING)) {
                         return false;
                     }
@@ -537,7 +534,7 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
                     IControllerPoller controllerPoller = getGame().getControllerPoller();
                     if (!jetpackStamina.hasStamina() || isDamaged() ||
                             !controllerPoller.isPressed(ControllerButton.Y) ||
-                            BodyExtensions.isBodySensing(getBody(), BodySense.FEET_ON_GROUND) ||
+                            bodySenses.isSensing(BodySense.FEET_ON_GROUND) ||
                             isBehaviorActive(BehaviorType.WALL_SLIDING)) {
                         return false;
                     }
@@ -574,13 +571,11 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
         return behaviorsComponent;
     }
 
-    private FontsComponent defineFontsComponent() {
-        BitmapFontHandle jetpackFont = BitmapFontHandleUtils.create(() -> {
-            float jetpackStaminaRatio = jetpackStamina.getImpulseRatio();
-            return "Jetpack: " + (100 - (int) (jetpackStaminaRatio * 100));
-        });
+    private CachedFontsComponent defineFontsComponent() {
+        CachedFontHandle jetpackFont = BitmapFontHandleUtils.createCached("Jetpack: ",
+                () -> 100 - (int) (jetpackStamina.getImpulseRatio() * 100));
         jetpackFont.getPosition().set(3f * ConstVals.PPM, 5f * ConstVals.PPM);
-        return new FontsComponent(this, new Pair<>("jetpack", jetpackFont));
+        return new CachedFontsComponent(this, "jetpack", jetpackFont);
     }
 
     private SpritesComponent defineSpritesComponent() {
@@ -609,7 +604,7 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
                 case LEFT -> Position.CENTER_RIGHT;
                 case RIGHT -> Position.CENTER_LEFT;
             };
-            Vector2 bodyPosition = getBounds().getPositionPoint(position);
+            Vector2 bodyPosition = getInterpolatedBounds().getPositionPoint(position);
             SpriteExtensionsKt.setPosition(gameSprite, bodyPosition, position);
 
             if (isBehaviorActive(BehaviorType.WALL_SLIDING)) {
@@ -644,7 +639,7 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
                 case LEFT -> new Vector2(verticalOffset, facingOffset);
                 case RIGHT -> new Vector2(-verticalOffset, -facingOffset);
             }).scl(ConstVals.PPM);
-            Vector2 position = getBounds().getPositionPoint(Position.CENTER).add(offset);
+            Vector2 position = getInterpolatedBounds().getPositionPoint(Position.CENTER).add(offset);
 
             SpriteExtensionsKt.setPosition(gameSprite, position, Position.CENTER);
         });
@@ -662,7 +657,7 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
         GameSprite playerSprite = getSprites().get("player");
 
         Supplier<String> keySupplier = () -> {
-            if (!BodyExtensions.isBodySensing(getBody(), BodySense.FEET_ON_GROUND)) {
+            if (!bodySenses.isSensing(BodySense.FEET_ON_GROUND)) {
                 if (isBehaviorActive(BehaviorType.WALL_SLIDING)) {
                     return "wallslide";
                 }
@@ -686,15 +681,18 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
             return "stand";
         };
 
+        AssetManager assMan = getGame().getAssMan();
+        SpriteSheetAsset spriteSheet = SpriteSheetAsset.PLAYER_8BIT_SPRITE_SHEET;
         ObjectMap<String, IAnimation> animations = new ObjectMap<>();
-        animations.put("stand", new Animation(regions.get("stand")));
-        animations.put("jump", new Animation(regions.get("jump")));
-        animations.put("run", new Animation(regions.get("run"), 2, 2, 0.175f, true));
-        animations.put("wallslide", new Animation(regions.get("wallslide")));
-        animations.put("jetdash", new Animation(regions.get("jetdash"), 1, 3, 0.05f, false));
-        animations.put("brake", new Animation(regions.get("brake")));
-        animations.put("slip", new Animation(regions.get("slip")));
-        animations.put("stand-shoot", new Animation(regions.get("stand-shoot")));
+        animations.put("stand", new AnimationCursor(AnimationDefs.get(assMan, spriteSheet, "stand")));
+        animations.put("jump", new AnimationCursor(AnimationDefs.get(assMan, spriteSheet, "jump")));
+        animations.put("run", new AnimationCursor(AnimationDefs.get(assMan, spriteSheet, "run", 2, 2, 0.175f, true)));
+        animations.put("wallslide", new AnimationCursor(AnimationDefs.get(assMan, spriteSheet, "wallslide")));
+        animations.put("jetdash",
+                new AnimationCursor(AnimationDefs.get(assMan, spriteSheet, "thrust", 1, 3, 0.05f, false)));
+        animations.put("brake", new AnimationCursor(AnimationDefs.get(assMan, spriteSheet, "brake")));
+        animations.put("slip", new AnimationCursor(AnimationDefs.get(assMan, spriteSheet, "slip")));
+        animations.put("stand-shoot", new AnimationCursor(AnimationDefs.get(assMan, spriteSheet, "stand-shoot")));
 
         Animator animator = new Animator(keySupplier, animations);
 
@@ -703,7 +701,8 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
 
     private Pair<Function0<GameSprite>, IAnimator> defineJetpackFlameSpriteAnimator() {
         GameSprite jetpackFlameSprite = getSprites().get("jetpackFlame");
-        Animation animation = new Animation(regions.get("jetpackFlame"), 1, 3, 0.1f, true);
+        AnimationCursor animation = new AnimationCursor(AnimationDefs.get(getGame().getAssMan(),
+                SpriteSheetAsset.PLAYER_8BIT_SPRITE_SHEET, "jetpackFlame", 1, 3, 0.1f, true));
         Animator animator = new Animator(animation);
         return new Pair<>(() -> jetpackFlameSprite, animator);
     }
@@ -738,7 +737,7 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
 
                     // TODO: threshold and impulse should be dynamic based on the current player state
                     float threshold;
-                    if (BodyExtensions.isBodySensing(getBody(), BodySense.FEET_ON_GROUND)) {
+                    if (bodySenses.isSensing(BodySense.FEET_ON_GROUND)) {
                         threshold = MAX_GROUND_RUN_SPEED * ConstVals.PPM;
                     } else if (isBehaviorActive(BehaviorType.JETPACKING)) {
                         threshold = MAX_JETPACK_RUN_SPEED * ConstVals.PPM;
@@ -774,7 +773,7 @@ public class Player extends GameEntity implements IBodyEntity, IHealthEntity, IA
 
                     // TODO: threshold and impulse should be dynamic based on the current player state
                     float threshold;
-                    if (BodyExtensions.isBodySensing(getBody(), BodySense.FEET_ON_GROUND)) {
+                    if (bodySenses.isSensing(BodySense.FEET_ON_GROUND)) {
                         threshold = MAX_GROUND_RUN_SPEED * ConstVals.PPM;
                     } else if (isBehaviorActive(BehaviorType.JETPACKING)) {
                         threshold = MAX_JETPACK_RUN_SPEED * ConstVals.PPM;
@@ -21,6 +21,8 @@ import com.engine.world.IFixture;
 import com.rocketpartners.game.Constants;
 import com.rocketpartners.game.cullables.CullablesUtils;
 import com.rocketpartners.game.world.BodyComponentCreator;
+import com.rocketpartners.game.world.BodyExtensions;
+import com.rocketpartners.game.world.GameBody;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
@@ -56,6 +58,7 @@ public class BaseBlock extends GameEntity implements IBodyEntity, IDrawableShape
                 Objects.requireNonNull(getComponent(ClassInstanceUtils.convertToKClass(BodyComponent.class))).getBody();
         assert bounds != null;
         body.set(bounds);
+        BodyExtensions.getMotionHistory(body).reset();
 
         CullablesComponent cullablesComponent =
                 getComponent(ClassInstanceUtils.convertToKClass(CullablesComponent.class));
@@ -75,7 +78,7 @@ public class BaseBlock extends GameEntity implements IBodyEntity, IDrawableShape
     }
 
     protected BodyComponent defineBodyComponent() {
-        Body body = Body.Companion.createBody(bodyType);
+        Body body = new GameBody(bodyType);
         return BodyComponentCreator.create(this, body);
     }
 
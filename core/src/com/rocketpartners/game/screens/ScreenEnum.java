@@ -1,6 +1,7 @@
 package com.rocketpartners.game.screens;
 
 public enum ScreenEnum {
+    LOADING_SCREEN,
     MAIN_MENU_SCREEN,
     LEVEL_SCREEN,
     SAVE_GAME_SCREEN,
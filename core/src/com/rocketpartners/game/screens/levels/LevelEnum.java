@@ -1,21 +1,86 @@
 package com.rocketpartners.game.screens.levels;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.XmlReader;
+import com.rocketpartners.game.assets.AssetManifest;
+import com.rocketpartners.game.assets.IAsset;
 import com.rocketpartners.game.assets.MusicAsset;
-import lombok.AccessLevel;
+import com.rocketpartners.game.assets.SoundAsset;
+import com.rocketpartners.game.assets.SpriteSheetAsset;
+import com.rocketpartners.game.screens.levels.map.CompiledLevels;
+import com.rocketpartners.game.screens.levels.map.PackedTilesets;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
-@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+import static com.rocketpartners.game.Constants.ConstKeys;
+
 public enum LevelEnum {
     TEST1("Test1.tmx", MusicAsset.INTO_THE_LAVA_PIT);
 
     private static final String TMX_PATH = "tiled_maps/tmx/";
+    // every level spawns the player and can be paused
+    private static final IAsset[] LEVEL_ASSETS = {
+            SpriteSheetAsset.PLAYER_8BIT_SPRITE_SHEET,
+            SoundAsset.JETPACK_SOUND,
+            SoundAsset.JETDASH_SOUND,
+            SoundAsset.PLAYER_DAMAGE_SOUND,
+            SoundAsset.PAUSE_SOUND
+    };
 
     private final String tmxSourceFile;
     @Getter
     private final MusicAsset musicAsset;
+    private final IAsset[] assets;
+
+    LevelEnum(String tmxSourceFile, MusicAsset musicAsset, IAsset... assets) {
+        this.tmxSourceFile = tmxSourceFile;
+        this.musicAsset = musicAsset;
+        this.assets = assets;
+    }
 
     public String getTmxSourceFile() {
         return TMX_PATH + tmxSourceFile;
     }
+
+    /**
+     * Returns the assets the level needs: its music, the assets of the player and the pause menu, the assets it
+     * declares, and the assets derived from its tmx file, which are the packed tiles atlas and the atlases of the
+     * backgrounds. The atlases are read from the compiled level when it is the one that will be loaded, and from the
+     * tmx file otherwise. Assets shared by consecutive levels stay loaded while the next level is loaded.
+     */
+    public AssetManifest getAssetManifest() {
+        AssetManifest manifest = new AssetManifest();
+        manifest.add(musicAsset);
+        for (IAsset asset : LEVEL_ASSETS) {
+            manifest.add(asset);
+        }
+        for (IAsset asset : assets) {
+            manifest.add(asset);
+        }
+
+        String tmxSource = getTmxSourceFile();
+        String tilesAtlasSource = PackedTilesets.getAtlasSource(tmxSource);
+        if (tilesAtlasSource != null) {
+            manifest.add(tilesAtlasSource, TextureAtlas.class);
+        }
+        String compiledLevelSource = tilesAtlasSource != null ? CompiledLevels.getCompiledSource(tmxSource) : null;
+        Array<String> atlasNames = compiledLevelSource != null ?
+                CompiledLevels.loadAtlasNames(compiledLevelSource) : readAtlasNames(tmxSource);
+        for (String atlasName : atlasNames) {
+            manifest.add(SpriteSheetAsset.SPRITE_SHEET_ASSET_PREFIX + atlasName, TextureAtlas.class);
+        }
+        return manifest;
+    }
+
+    private static Array<String> readAtlasNames(String tmxSource) {
+        Array<String> atlasNames = new Array<>();
+        XmlReader.Element map = new XmlReader().parse(Gdx.files.internal(tmxSource));
+        for (XmlReader.Element property : map.getChildrenByNameRecursively("property")) {
+            if (ConstKeys.ATLAS.equals(property.getAttribute("name", null))) {
+                atlasNames.add(property.getAttribute("value"));
+            }
+        }
+        return atlasNames;
+    }
 }
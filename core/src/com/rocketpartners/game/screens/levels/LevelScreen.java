@@ -1,8 +1,10 @@
 package com.rocketpartners.game.screens.levels;
 
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.maps.MapProperties;
 import com.badlogic.gdx.maps.objects.RectangleMapObject;
@@ -16,14 +18,14 @@ import com.engine.behaviors.BehaviorsSystem;
 import com.engine.common.objects.Properties;
 import com.engine.controller.ControllerSystem;
 import com.engine.controller.polling.IControllerPoller;
-import com.engine.drawables.shapes.IDrawableShape;
 import com.engine.drawables.sorting.DrawingSection;
 import com.engine.drawables.sorting.IComparableDrawable;
 import com.engine.drawables.sprites.SpritesSystem;
 import com.engine.events.Event;
 import com.engine.events.IEventsManager;
-import com.engine.graph.SimpleNodeGraphMap;
 import com.engine.motion.MotionSystem;
+import com.engine.screens.levels.tiledmap.TiledMapLevelLoader;
+import com.engine.screens.levels.tiledmap.TiledMapLevelRenderer;
 import com.engine.screens.levels.tiledmap.TiledMapLevelScreen;
 import com.engine.screens.levels.tiledmap.TiledMapLoadResult;
 import com.engine.screens.levels.tiledmap.builders.TiledMapLayerBuilders;
@@ -31,25 +33,35 @@ import com.engine.spawns.Spawn;
 import com.engine.spawns.SpawnsManager;
 import com.engine.systems.IGameSystem;
 import com.engine.updatables.UpdatablesSystem;
-import com.engine.world.WorldSystem;
 import com.rocketpartners.game.RocketPartnersGame;
 import com.rocketpartners.game.assets.MusicAsset;
 import com.rocketpartners.game.assets.SoundAsset;
 import com.rocketpartners.game.audio.AudioManager;
 import com.rocketpartners.game.controllers.ControllerButton;
 import com.rocketpartners.game.drawables.Background;
+import com.rocketpartners.game.drawables.DebugShapesOverlay;
+import com.rocketpartners.game.drawables.LowResFramebuffer;
+import com.rocketpartners.game.drawables.RenderQueue;
+import com.rocketpartners.game.drawables.RenderSnapshot;
+import com.rocketpartners.game.drawables.RenderSnapshotBuffer;
+import com.rocketpartners.game.drawables.SpriteCuller;
 import com.rocketpartners.game.entities.Player;
 import com.rocketpartners.game.events.EventType;
 import com.rocketpartners.game.screens.levels.camera.CameraManagerForRooms;
 import com.rocketpartners.game.screens.levels.events.PlayerSpawnEventHandler;
+import com.rocketpartners.game.screens.levels.map.CachedTiledMapRenderer;
+import com.rocketpartners.game.screens.levels.map.CompiledLevels;
 import com.rocketpartners.game.screens.levels.map.MapBuilder;
+import com.rocketpartners.game.screens.levels.map.PackedTilesets;
 import com.rocketpartners.game.screens.levels.spawns.PlayerSpawnsManager;
 import com.rocketpartners.game.utils.ConstFuncs;
+import com.rocketpartners.game.world.GameWorldSystem;
+import com.rocketpartners.game.world.UniformGridBroadphase;
 import lombok.Getter;
 import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.PriorityQueue;
 
 import static com.rocketpartners.game.Constants.ConstKeys;
 import static com.rocketpartners.game.Constants.ConstVals;
@@ -61,8 +73,9 @@ public class LevelScreen extends TiledMapLevelScreen {
     private ObjectSet<Object> eventKeyMask;
     private SpawnsManager spawnsMan;
     private Array<Disposable> disposables;
-    private ObjectMap<DrawingSection, PriorityQueue<IComparableDrawable<Batch>>> drawables;
-    private PriorityQueue<IDrawableShape> shapes;
+    private ObjectMap<DrawingSection, RenderQueue<IComparableDrawable<Batch>>> drawables;
+    private DebugShapesOverlay debugShapesOverlay;
+    private SpriteCuller spriteCuller;
     private Camera backgroundCamera;
     private Camera gameCamera;
     private Camera uiCamera;
@@ -75,9 +88,15 @@ public class LevelScreen extends TiledMapLevelScreen {
     private PlayerSpawnEventHandler playerSpawnEventHandler;
     private IControllerPoller controllerPoller;
     private Array<Background> backgrounds;
+    private CachedTiledMapRenderer cachedTiledMapRenderer;
     private CameraManagerForRooms cameraManagerForRooms;
     private Vector3 gameCamPriorPos;
     private OrderedMap<IGameSystem, Boolean> systemsOnPause;
+    private SimulationThread simulationThread;
+    private RenderSnapshotBuffer renderSnapshots;
+    private OrthographicCamera renderBackgroundCamera;
+    private OrthographicCamera renderGameCamera;
+    private OrthographicCamera renderUiCamera;
 
     public LevelScreen(@NotNull IGame2D game) {
         super(game, new Properties());
@@ -90,7 +109,8 @@ public class LevelScreen extends TiledMapLevelScreen {
         spawnsMan = new SpawnsManager();
         disposables = new Array<>();
         drawables = ((RocketPartnersGame) getGame()).getDrawables();
-        shapes = ((RocketPartnersGame) getGame()).getShapes();
+        debugShapesOverlay = ((RocketPartnersGame) getGame()).getDebugShapesOverlay();
+        spriteCuller = ((RocketPartnersGame) getGame()).getSpriteCuller();
         backgroundCamera = getGame().getViewports().get(ConstKeys.BACKGROUND).getCamera();
         gameCamera = getGame().getViewports().get(ConstKeys.GAME).getCamera();
         uiCamera = getGame().getViewports().get(ConstKeys.UI).getCamera();
@@ -103,6 +123,10 @@ public class LevelScreen extends TiledMapLevelScreen {
         controllerPoller = getGame().getControllerPoller();
         backgrounds = new Array<>();
         gameCamPriorPos = new Vector3();
+        systemsOnPause = new OrderedMap<>();
+        renderBackgroundCamera = new OrthographicCamera();
+        renderGameCamera = new OrthographicCamera();
+        renderUiCamera = new OrthographicCamera();
 
         ObjectMap<String, IGameSystem> systemsMap = ((RocketPartnersGame) getGame()).getSystemsMap();
         Array<IGameSystem> systemsToSwitch = new Array<>();
@@ -111,10 +135,10 @@ public class LevelScreen extends TiledMapLevelScreen {
         systemsToSwitch.add(systemsMap.get(MotionSystem.class.getSimpleName()));
         systemsToSwitch.add(systemsMap.get(UpdatablesSystem.class.getSimpleName()));
         systemsToSwitch.add(systemsMap.get(BehaviorsSystem.class.getSimpleName()));
-        systemsToSwitch.add(systemsMap.get(WorldSystem.class.getSimpleName()));
+        systemsToSwitch.add(systemsMap.get(GameWorldSystem.class.getSimpleName()));
         systemsToSwitch.add(systemsMap.get(AudioSystem.class.getSimpleName()));
 
-        cameraManagerForRooms = new CameraManagerForRooms(gameCamera);
+        cameraManagerForRooms = new CameraManagerForRooms(gameCamera, ((RocketPartnersGame) getGame()).getFrameClock());
         cameraManagerForRooms.setFocus(((RocketPartnersGame) getGame()).getPlayer());
         cameraManagerForRooms.setOnBeginTransition(() -> {
             systemsToSwitch.forEach(system -> system.setOn(false));
@@ -154,10 +178,23 @@ public class LevelScreen extends TiledMapLevelScreen {
         });
     }
 
+    /**
+     * Replaces the engine's show(), which can only load the tmx file, so that compiled and tmx levels are set up by
+     * the same code. See {@link #showLevel(TiledMapLoadResult)}.
+     */
     @Override
     public void show() {
         dispose();
-        super.show();
+        // what BaseScreen.show() does
+        if (!getInitialized()) {
+            init();
+            setInitialized(true);
+        }
+        String tmxMapSource = getTmxMapSource();
+        if (tmxMapSource == null) {
+            throw new IllegalStateException("Tmx map source must be set before calling show()");
+        }
+        showLevel(loadLevel(tmxMapSource));
         eventsMan.addListener(this);
         engine.getSystems().forEach(system -> system.setOn(true));
         if (musicAsset != null) {
@@ -169,9 +206,16 @@ public class LevelScreen extends TiledMapLevelScreen {
         int worldWidth = tiledMapLoadResult.getWorldWidth();
         int worldHeight = tiledMapLoadResult.getWorldHeight();
 
-        SimpleNodeGraphMap graphMap = new SimpleNodeGraphMap(0, 0, worldWidth, worldHeight, ConstVals.PPM);
+        UniformGridBroadphase graphMap = new UniformGridBroadphase(0, 0, worldWidth, worldHeight, ConstVals.PPM);
         ((RocketPartnersGame) getGame()).setGraphMap(graphMap);
 
+        if (RocketPartnersGame.CACHED_TILES) {
+            assert getTiledMapLevelRenderer() != null;
+            cachedTiledMapRenderer = new CachedTiledMapRenderer(tiledMapLoadResult.getMap(),
+                    getTiledMapLevelRenderer(), ConstVals.TILE_CHUNK_SIZE);
+            disposables.add(cachedTiledMapRenderer);
+        }
+
         gameCamPriorPos.set(gameCamera.position);
 
         playerSpawnEventHandler.init();
@@ -180,6 +224,67 @@ public class LevelScreen extends TiledMapLevelScreen {
 
         backgroundCamera.position.set(ConstFuncs.getCamInitPos());
         gameCamera.position.set(ConstFuncs.getCamInitPos());
+
+        if (((RocketPartnersGame) getGame()).isSimulationThreaded()) {
+            renderSnapshots = new RenderSnapshotBuffer();
+            // the cameras of the viewports are the simulation thread's, so the render thread draws with copies
+            copyCamera(backgroundCamera, renderBackgroundCamera);
+            copyCamera(gameCamera, renderGameCamera);
+            copyCamera(uiCamera, renderUiCamera);
+            backgrounds.forEach(background -> background.setCamera(renderBackgroundCamera));
+            simulationThread = new SimulationThread(this::simulate, ConstVals.SIMULATION_TICK,
+                    ConstVals.MAX_FRAME_DELTA);
+            simulationThread.start();
+        }
+    }
+
+    /**
+     * Loads the compiled level if the level has been compiled and its tiles packed, and the tmx file otherwise. The
+     * tiles of a tmx file are remapped to the packed atlas if there is one.
+     */
+    private TiledMapLoadResult loadLevel(@NotNull String tmxMapSource) {
+        TextureAtlas tilesAtlas = loadTilesAtlas(tmxMapSource);
+        if (tilesAtlas == null) {
+            return TiledMapLevelLoader.INSTANCE.load(tmxMapSource);
+        }
+        String compiledLevelSource = CompiledLevels.getCompiledSource(tmxMapSource);
+        if (compiledLevelSource != null) {
+            return CompiledLevels.load(compiledLevelSource, tilesAtlas);
+        }
+        TiledMapLoadResult tiledMapLoadResult = TiledMapLevelLoader.INSTANCE.load(tmxMapSource);
+        PackedTilesets.remap(tiledMapLoadResult.getMap(), tilesAtlas);
+        return tiledMapLoadResult;
+    }
+
+    /**
+     * Returns the packed tiles atlas of the level, or null if the tiles have not been packed.
+     */
+    @Nullable
+    private TextureAtlas loadTilesAtlas(@NotNull String tmxMapSource) {
+        String tilesAtlasSource = PackedTilesets.getAtlasSource(tmxMapSource);
+        if (tilesAtlasSource == null) {
+            return null;
+        }
+        AssetManager assMan = getGame().getAssMan();
+        // owned by the asset manifest of the level unless the screen was shown without loading it
+        if (!assMan.isLoaded(tilesAtlasSource)) {
+            assMan.load(tilesAtlasSource, TextureAtlas.class);
+            assMan.finishLoadingAsset(tilesAtlasSource);
+            disposables.add(() -> assMan.unload(tilesAtlasSource));
+        }
+        return assMan.get(tilesAtlasSource, TextureAtlas.class);
+    }
+
+    /**
+     * Builds the level from the loaded map the way TiledMapLevelScreen.show() of 2D-Game-Engine 1.1 does once it has
+     * loaded the tmx file. Must be kept in step with the engine when it is upgraded.
+     */
+    private void showLevel(@NotNull TiledMapLoadResult tiledMapLoadResult) {
+        setTiledMapLoadResult(tiledMapLoadResult);
+        Properties returnProps = new Properties();
+        getLayerBuilders().build(tiledMapLoadResult.getMap().getLayers(), returnProps);
+        buildLevel(returnProps);
+        setTiledMapLevelRenderer(new TiledMapLevelRenderer(tiledMapLoadResult.getMap(), getGame().getBatch()));
     }
 
     @NotNull
@@ -241,6 +346,33 @@ public class LevelScreen extends TiledMapLevelScreen {
     public void render(float delta) {
         super.render(delta);
 
+        if (simulationThread != null) {
+            simulationThread.rethrowFailure();
+            RenderSnapshot snapshot = renderSnapshots.acquire();
+            if (snapshot != null) {
+                snapshot.applyCameras(renderBackgroundCamera, renderGameCamera);
+                draw(delta, renderBackgroundCamera, renderGameCamera, renderUiCamera, snapshot);
+            }
+            return;
+        }
+
+        update(delta);
+        draw(delta, backgroundCamera, gameCamera, uiCamera, null);
+    }
+
+    private static void copyCamera(@NotNull Camera source, @NotNull OrthographicCamera target) {
+        target.viewportWidth = source.viewportWidth;
+        target.viewportHeight = source.viewportHeight;
+        target.position.set(source.position);
+        target.zoom = source instanceof OrthographicCamera orthographicCamera ? orthographicCamera.zoom : 1f;
+        target.update();
+    }
+
+    /**
+     * Simulation half of a frame. When the level runs on a {@link SimulationThread}, this is called on that thread
+     * and must not touch GL state.
+     */
+    private void update(float delta) {
         if (controllerPoller.isJustPressed(ControllerButton.START)) {
             if (getGame().getPaused()) {
                 getGame().resume();
@@ -250,7 +382,6 @@ public class LevelScreen extends TiledMapLevelScreen {
         }
 
         if (!getGame().getPaused()) {
-            backgrounds.forEach(background -> background.update(delta));
             cameraManagerForRooms.update(delta);
 
             if (!cameraManagerForRooms.isTransitioning() /* TODO: && player spawn event is finished */) {
@@ -273,43 +404,77 @@ public class LevelScreen extends TiledMapLevelScreen {
             */
         }
 
+        spriteCuller.startFrame();
+        debugShapesOverlay.startFrame();
+        engine.update(delta);
+
         float gameCamDeltaX = gameCamera.position.x - gameCamPriorPos.x;
         backgroundCamera.position.x += gameCamDeltaX * 0.5f;
         gameCamPriorPos.set(gameCamera.position);
+    }
 
-        engine.update(delta);
+    private void simulate(float delta) {
+        controllerPoller.run();
+        eventsMan.run();
+        update(delta);
+
+        RenderSnapshot snapshot = renderSnapshots.getWriteSnapshot();
+        snapshot.begin(backgroundCamera, gameCamera, getGame().getPaused());
+        for (DrawingSection section : DrawingSection.values()) {
+            RenderQueue<IComparableDrawable<Batch>> sectionDrawables = drawables.get(section);
+            sectionDrawables.forEach(snapshot.getCollector(section));
+            sectionDrawables.clear();
+        }
+        debugShapesOverlay.drain(snapshot::addShape);
+        renderSnapshots.publish();
+    }
+
+    /**
+     * Render half of a frame. Draws from the render queues, or from the snapshot if one is given. Only reads the
+     * cameras it is given.
+     */
+    private void draw(float delta, @NotNull Camera backgroundCamera, @NotNull Camera gameCamera,
+                      @NotNull Camera uiCamera, @Nullable RenderSnapshot snapshot) {
+        boolean paused = snapshot != null ? snapshot.isPaused() : getGame().getPaused();
+        if (!paused) {
+            backgrounds.forEach(background -> background.update(delta));
+        }
+
+        LowResFramebuffer lowResFramebuffer = ((RocketPartnersGame) getGame()).getLowResFramebuffer();
+        if (lowResFramebuffer != null) {
+            lowResFramebuffer.begin();
+        }
 
         Batch batch = getGame().getBatch();
         batch.begin();
 
         batch.setProjectionMatrix(backgroundCamera.combined);
         backgrounds.forEach(background -> background.draw(batch));
-
-        PriorityQueue<IComparableDrawable<Batch>> backgroundDrawables = drawables.get(DrawingSection.BACKGROUND);
-        while (!backgroundDrawables.isEmpty()) {
-            IComparableDrawable<Batch> backgroundSprite = backgroundDrawables.poll();
-            backgroundSprite.draw(batch);
-        }
+        drawSection(DrawingSection.BACKGROUND, batch, snapshot);
 
         batch.setProjectionMatrix(gameCamera.combined);
 
-        assert getTiledMapLevelRenderer() != null;
-        getTiledMapLevelRenderer().render((OrthographicCamera) gameCamera);
-
-        PriorityQueue<IComparableDrawable<Batch>> gameGroundDrawables = drawables.get(DrawingSection.PLAYGROUND);
-        while (!gameGroundDrawables.isEmpty()) {
-            IComparableDrawable<Batch> gameGroundSprite = gameGroundDrawables.poll();
-            gameGroundSprite.draw(batch);
+        if (cachedTiledMapRenderer != null) {
+            batch.end();
+            cachedTiledMapRenderer.render((OrthographicCamera) gameCamera, batch);
+            batch.begin();
+        } else {
+            assert getTiledMapLevelRenderer() != null;
+            getTiledMapLevelRenderer().render((OrthographicCamera) gameCamera);
         }
 
-        batch.setProjectionMatrix(uiCamera.combined);
+        drawSection(DrawingSection.PLAYGROUND, batch, snapshot);
 
-        PriorityQueue<IComparableDrawable<Batch>> foregroundDrawables = drawables.get(DrawingSection.FOREGROUND);
-        while (!foregroundDrawables.isEmpty()) {
-            IComparableDrawable<Batch> gameSprite = foregroundDrawables.poll();
-            gameSprite.draw(batch);
+        if (lowResFramebuffer != null) {
+            batch.end();
+            lowResFramebuffer.end();
+            lowResFramebuffer.blit(batch, getGame().getViewports().get(ConstKeys.GAME));
+            batch.begin();
         }
 
+        batch.setProjectionMatrix(uiCamera.combined);
+        drawSection(DrawingSection.FOREGROUND, batch, snapshot);
+
         batch.end();
 
         // batch.setProjectionMatrix(uiStage.getCamera().combined);
@@ -328,23 +493,41 @@ public class LevelScreen extends TiledMapLevelScreen {
 
         ShapeRenderer shapeRenderer = getGame().getShapeRenderer();
         shapeRenderer.setProjectionMatrix(gameCamera.combined);
-
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
-        while (!shapes.isEmpty()) {
-            IDrawableShape shape = shapes.poll();
-            shape.draw(shapeRenderer);
+        if (snapshot != null) {
+            snapshot.drawShapes(shapeRenderer);
+        } else {
+            debugShapesOverlay.draw(shapeRenderer);
         }
-        shapeRenderer.end();
 
         // TODO: if (!cameraShaker.isFinished) cameraShaker.update(delta)
     }
 
+    private void drawSection(@NotNull DrawingSection section, @NotNull Batch batch,
+                             @Nullable RenderSnapshot snapshot) {
+        if (snapshot != null) {
+            snapshot.draw(section, batch);
+            return;
+        }
+        RenderQueue<IComparableDrawable<Batch>> sectionDrawables = drawables.get(section);
+        sectionDrawables.forEach(drawable -> drawable.draw(batch));
+        sectionDrawables.clear();
+    }
+
+    @Override
+    public void hide() {
+        super.hide();
+        // the next screen polls the controller and runs the events on the render thread again
+        stopSimulationThread();
+    }
+
     @Override
     public void dispose() {
+        stopSimulationThread();
         super.dispose();
         if (getInitialized()) {
             disposables.forEach(Disposable::dispose);
             disposables.clear();
+            cachedTiledMapRenderer = null;
             engine.reset();
             audioMan.stopMusic(null);
             eventsMan.removeListener(this);
@@ -354,6 +537,16 @@ public class LevelScreen extends TiledMapLevelScreen {
         }
     }
 
+    private void stopSimulationThread() {
+        if (simulationThread != null) {
+            simulationThread.stop();
+            simulationThread = null;
+        }
+    }
+
+    /**
+     * Turns the systems off. When the level runs on a {@link SimulationThread}, the game posts this to that thread.
+     */
     @Override
     public void pause() {
         systemsOnPause.clear();
@@ -369,4 +562,19 @@ public class LevelScreen extends TiledMapLevelScreen {
         audioMan.pauseMusic(null);
         audioMan.playSound(SoundAsset.PAUSE_SOUND, false);
     }
+
+    /**
+     * Turns the systems that were on before pausing back on. When the level runs on a {@link SimulationThread}, the
+     * game posts this to that thread.
+     */
+    @Override
+    public void resume() {
+        for (ObjectMap.Entry<IGameSystem, Boolean> entry : systemsOnPause) {
+            entry.key.setOn(entry.value);
+        }
+        systemsOnPause.clear();
+
+        audioMan.resumeAllSound();
+        audioMan.playMusic(null, true);
+    }
 }
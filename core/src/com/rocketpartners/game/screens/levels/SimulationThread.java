@@ -0,0 +1,104 @@
+package com.rocketpartners.game.screens.levels;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.engine.common.GameLogger;
+import com.engine.common.interfaces.Updatable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a simulation on its own thread at a fixed tick rate. A failure stops the thread and is rethrown on the
+ * render thread by {@link #rethrowFailure()}. Other threads change simulation state by posting messages, which the
+ * thread runs before its next tick.
+ */
+public class SimulationThread implements Runnable {
+
+    private static final String TAG = "SimulationThread";
+
+    private final Updatable simulation;
+    private final long tickNanos;
+    private final float maxDelta;
+    private final Queue<Runnable> messages;
+    private Thread thread;
+    private volatile boolean running;
+    private volatile Throwable failure;
+
+    public SimulationThread(@NotNull Updatable simulation, float tickTime, float maxDelta) {
+        this.simulation = simulation;
+        this.maxDelta = maxDelta;
+        messages = new ConcurrentLinkedQueue<>();
+        tickNanos = (long) (tickTime * 1_000_000_000L);
+    }
+
+    public void start() {
+        GameLogger.INSTANCE.debug(TAG, "start()");
+        running = true;
+        thread = new Thread(this, TAG);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Runs the message on the simulation thread before its next tick.
+     */
+    public void post(@NotNull Runnable message) {
+        messages.add(message);
+    }
+
+    /**
+     * Stops the thread and waits for the current tick to finish. Messages that were posted but not run yet are run
+     * by the caller once the thread has finished.
+     */
+    public void stop() {
+        GameLogger.INSTANCE.debug(TAG, "stop()");
+        running = false;
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+        runMessages();
+    }
+
+    private void runMessages() {
+        Runnable message;
+        while ((message = messages.poll()) != null) {
+            message.run();
+        }
+    }
+
+    public void rethrowFailure() {
+        if (failure != null) {
+            throw new GdxRuntimeException("Simulation thread failed", failure);
+        }
+    }
+
+    @Override
+    public void run() {
+        long last = System.nanoTime();
+        try {
+            while (running) {
+                long start = System.nanoTime();
+                float delta = Math.min((start - last) / 1_000_000_000f, maxDelta);
+                last = start;
+                runMessages();
+                simulation.update(delta);
+                long remaining = tickNanos - (System.nanoTime() - start);
+                if (remaining > 0) {
+                    LockSupport.parkNanos(remaining);
+                }
+            }
+        } catch (Throwable t) {
+            failure = t;
+            running = false;
+        }
+    }
+}
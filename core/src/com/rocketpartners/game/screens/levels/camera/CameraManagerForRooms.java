@@ -14,7 +14,10 @@ import com.engine.common.interfaces.Updatable;
 import com.engine.common.shapes.GameRectangle;
 import com.engine.common.shapes.RectangleExtensionsKt;
 import com.engine.common.time.Timer;
+import com.engine.entities.contracts.IBodyEntity;
 import com.rocketpartners.game.Constants;
+import com.rocketpartners.game.world.BodyExtensions;
+import com.rocketpartners.game.world.FrameClock;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -33,12 +36,15 @@ public class CameraManagerForRooms implements Updatable, Resettable {
     private static final float INTERPOLATION_SCALAR = 5f;
 
     private final Camera camera;
+    private final FrameClock frameClock;
     private final Timer delayTimer;
     private final Timer transTimer;
     private final Vector2 transitionStart;
     private final Vector2 transitionTarget;
     private final Vector2 focusStart;
     private final Vector2 focusTarget;
+    private final GameRectangle focusBounds;
+    private final Vector2 focusCenter;
 
     @Setter
     private Array<RectangleMapObject> rooms;
@@ -59,14 +65,17 @@ public class CameraManagerForRooms implements Updatable, Resettable {
 
     private boolean reset;
 
-    public CameraManagerForRooms(Camera camera) {
+    public CameraManagerForRooms(Camera camera, FrameClock frameClock) {
         this.camera = camera;
+        this.frameClock = frameClock;
         delayTimer = new Timer(DELAY_DURATION);
         transTimer = new Timer(TRANS_DURATION);
         transitionStart = new Vector2();
         transitionTarget = new Vector2();
         focusStart = new Vector2();
         focusTarget = new Vector2();
+        focusBounds = new GameRectangle();
+        focusCenter = new Vector2();
     }
 
     public String getCurrentRoomKey() {
@@ -258,10 +267,18 @@ public class CameraManagerForRooms implements Updatable, Resettable {
         if (focus == null) {
             return;
         }
-        Vector2 focusPos = focus.getBounds().getCenter();
+        Vector2 focusPos = getInterpolatedFocusCenter();
         Vector2 cameraPos = interpolate(Vector3ExtensionsKt.toVector2(camera.position), focusPos,
                 v * INTERPOLATION_SCALAR);
         camera.position.x = cameraPos.x;
         camera.position.y = cameraPos.y;
     }
+
+    private Vector2 getInterpolatedFocusCenter() {
+        if (focus instanceof IBodyEntity bodyEntity) {
+            return BodyExtensions.getInterpolatedBounds(bodyEntity.getBody(), frameClock.getAlpha(), focusBounds)
+                    .getCenter(focusCenter);
+        }
+        return focus.getBounds().getCenter();
+    }
 }
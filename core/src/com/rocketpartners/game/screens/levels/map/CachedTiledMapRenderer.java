@@ -0,0 +1,375 @@
+package com.rocketpartners.game.screens.levels.map;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapGroupLayer;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapLayers;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapImageLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.engine.common.GameLogger;
+import com.engine.screens.levels.tiledmap.TiledMapLevelRenderer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Draws the layers of a tiled map with the tiles of every tile layer baked into {@link SpriteCache}s when the level
+ * is built. Each tile layer is split into square chunks of tiles and only the chunks overlapping the camera are drawn.
+ * Flipped and rotated tiles are baked the same way the batch renderer draws them. Animated tiles are left out of the
+ * caches and drawn through the batch every frame, as are image layers and tile layers with parallax, since those
+ * depend on the view. Layer opacity is baked in when the caches are built.
+ */
+public class CachedTiledMapRenderer implements Disposable {
+
+    public static final String TAG = "CachedTiledMapRenderer";
+
+    // indices are shorts, so a cache can hold at most 8191 quads of 4 vertices
+    private static final int MAX_CACHE_QUADS = 8191;
+    private static final int QUAD_SIZE = 20;
+
+    private static final class Chunk {
+
+        private final Rectangle bounds = new Rectangle(Float.MAX_VALUE, Float.MAX_VALUE, 0f, 0f);
+        private final FloatArray vertices = new FloatArray();
+        private final Array<Texture> textures = new Array<>();
+        private int cacheIndex;
+        private int cacheId;
+
+        private void add(Texture texture, float[] quad) {
+            if (textures.isEmpty()) {
+                bounds.set(quad[0], quad[1], 0f, 0f);
+            }
+            textures.add(texture);
+            vertices.addAll(quad, 0, QUAD_SIZE);
+            for (int i = 0; i < QUAD_SIZE; i += 5) {
+                bounds.merge(quad[i], quad[i + 1]);
+            }
+        }
+    }
+
+    private static final class LayerEntry {
+
+        private final MapLayer layer;
+        private final boolean cached;
+        private final Array<Chunk> chunks = new Array<>();
+        private final IntArray animatedCells = new IntArray();
+
+        private LayerEntry(MapLayer layer, boolean cached) {
+            this.layer = layer;
+            this.cached = cached;
+        }
+    }
+
+    private final TiledMapLevelRenderer fallbackRenderer;
+    private final float unitScale;
+    private final Array<SpriteCache> caches;
+    private final Array<LayerEntry> layers;
+    private final Rectangle viewBounds;
+    private final float[] quad;
+    private boolean hasAnimatedTiles;
+
+    public CachedTiledMapRenderer(@NotNull TiledMap map, @NotNull TiledMapLevelRenderer fallbackRenderer,
+                                  int chunkSize) {
+        this.fallbackRenderer = fallbackRenderer;
+        unitScale = fallbackRenderer.getUnitScale();
+        caches = new Array<>();
+        layers = new Array<>();
+        viewBounds = new Rectangle();
+        quad = new float[QUAD_SIZE];
+
+        Array<Chunk> chunks = new Array<>();
+        collectLayers(map.getLayers(), chunkSize, chunks);
+        buildCaches(chunks);
+        GameLogger.INSTANCE.debug(TAG, "init: baked " + chunks.size + " chunks into " + caches.size + " caches");
+    }
+
+    /**
+     * Draws the map as seen by the camera. The batch must not be drawing when this is called and is left that way.
+     */
+    public void render(@NotNull OrthographicCamera camera, @NotNull Batch batch) {
+        float width = camera.viewportWidth * camera.zoom;
+        float height = camera.viewportHeight * camera.zoom;
+        viewBounds.set(camera.position.x - width / 2f, camera.position.y - height / 2f, width, height);
+        fallbackRenderer.setView(camera);
+        if (hasAnimatedTiles) {
+            AnimatedTiledMapTile.updateAnimationBaseTime();
+        }
+
+        for (int i = 0; i < layers.size; i++) {
+            LayerEntry entry = layers.get(i);
+            if (!isVisible(entry.layer)) {
+                continue;
+            }
+            if (entry.cached) {
+                if (entry.chunks.notEmpty()) {
+                    endBatch(batch);
+                    drawChunks(entry, camera);
+                }
+                if (entry.animatedCells.notEmpty()) {
+                    beginBatch(batch);
+                    drawAnimatedCells(entry, batch);
+                }
+            } else if (entry.layer instanceof TiledMapTileLayer tileLayer) {
+                beginBatch(batch);
+                fallbackRenderer.renderTileLayer(tileLayer);
+            } else if (entry.layer instanceof TiledMapImageLayer imageLayer) {
+                beginBatch(batch);
+                fallbackRenderer.renderImageLayer(imageLayer);
+            }
+        }
+        endBatch(batch);
+    }
+
+    @Override
+    public void dispose() {
+        caches.forEach(SpriteCache::dispose);
+        caches.clear();
+        layers.clear();
+    }
+
+    private void collectLayers(MapLayers mapLayers, int chunkSize, Array<Chunk> chunks) {
+        for (MapLayer layer : mapLayers) {
+            if (layer instanceof MapGroupLayer groupLayer) {
+                collectLayers(groupLayer.getLayers(), chunkSize, chunks);
+                continue;
+            }
+            boolean cached = layer instanceof TiledMapTileLayer && layer.getParallaxX() == 1f &&
+                    layer.getParallaxY() == 1f;
+            LayerEntry entry = new LayerEntry(layer, cached);
+            layers.add(entry);
+            if (cached) {
+                buildChunks((TiledMapTileLayer) layer, entry, chunkSize);
+                chunks.addAll(entry.chunks);
+            }
+        }
+    }
+
+    private void buildChunks(TiledMapTileLayer layer, LayerEntry entry, int chunkSize) {
+        float color = Color.toFloatBits(1f, 1f, 1f, layer.getOpacity());
+        for (int chunkRow = 0; chunkRow < layer.getHeight(); chunkRow += chunkSize) {
+            for (int chunkColumn = 0; chunkColumn < layer.getWidth(); chunkColumn += chunkSize) {
+                Chunk chunk = null;
+                int maxRow = Math.min(chunkRow + chunkSize, layer.getHeight());
+                int maxColumn = Math.min(chunkColumn + chunkSize, layer.getWidth());
+                for (int row = chunkRow; row < maxRow; row++) {
+                    for (int column = chunkColumn; column < maxColumn; column++) {
+                        TiledMapTileLayer.Cell cell = layer.getCell(column, row);
+                        if (cell == null || cell.getTile() == null) {
+                            continue;
+                        }
+                        if (cell.getTile() instanceof AnimatedTiledMapTile) {
+                            entry.animatedCells.add(column, row);
+                            hasAnimatedTiles = true;
+                            continue;
+                        }
+                        if (chunk == null) {
+                            chunk = new Chunk();
+                        }
+                        TextureRegion region = setQuad(layer, cell, column, row, color);
+                        chunk.add(region.getTexture(), quad);
+                    }
+                }
+                if (chunk != null) {
+                    entry.chunks.add(chunk);
+                }
+            }
+        }
+    }
+
+    private void buildCaches(Array<Chunk> chunks) {
+        int start = 0;
+        while (start < chunks.size) {
+            int quads = 0;
+            int end = start;
+            while (end < chunks.size && quads + chunks.get(end).textures.size <= MAX_CACHE_QUADS) {
+                quads += chunks.get(end).textures.size;
+                end++;
+            }
+            if (end == start) {
+                throw new IllegalStateException("Chunk has more than " + MAX_CACHE_QUADS + " tiles");
+            }
+
+            SpriteCache cache = new SpriteCache(quads, true);
+            for (int i = start; i < end; i++) {
+                Chunk chunk = chunks.get(i);
+                cache.beginCache();
+                for (int j = 0; j < chunk.textures.size; j++) {
+                    cache.add(chunk.textures.get(j), chunk.vertices.items, j * QUAD_SIZE, QUAD_SIZE);
+                }
+                chunk.cacheId = cache.endCache();
+                chunk.cacheIndex = caches.size;
+                // the vertices now live in the cache's mesh
+                chunk.vertices.clear();
+                chunk.vertices.shrink();
+                chunk.textures.clear();
+                chunk.textures.shrink();
+            }
+            caches.add(cache);
+            start = end;
+        }
+    }
+
+    private void drawChunks(LayerEntry entry, OrthographicCamera camera) {
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        SpriteCache active = null;
+        for (int i = 0; i < entry.chunks.size; i++) {
+            Chunk chunk = entry.chunks.get(i);
+            if (!chunk.bounds.overlaps(viewBounds)) {
+                continue;
+            }
+            SpriteCache cache = caches.get(chunk.cacheIndex);
+            if (cache != active) {
+                if (active != null) {
+                    active.end();
+                }
+                cache.setProjectionMatrix(camera.combined);
+                cache.begin();
+                active = cache;
+            }
+            cache.draw(chunk.cacheId);
+        }
+        if (active != null) {
+            active.end();
+        }
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+
+    private void drawAnimatedCells(LayerEntry entry, Batch batch) {
+        TiledMapTileLayer layer = (TiledMapTileLayer) entry.layer;
+        float color = Color.toFloatBits(1f, 1f, 1f, layer.getOpacity());
+        for (int i = 0; i < entry.animatedCells.size; i += 2) {
+            int column = entry.animatedCells.get(i);
+            int row = entry.animatedCells.get(i + 1);
+            TiledMapTileLayer.Cell cell = layer.getCell(column, row);
+            if (cell == null || cell.getTile() == null) {
+                continue;
+            }
+            TextureRegion region = setQuad(layer, cell, column, row, color);
+            if (quad[10] >= viewBounds.x && quad[0] <= viewBounds.x + viewBounds.width &&
+                    quad[6] >= viewBounds.y && quad[1] <= viewBounds.y + viewBounds.height) {
+                batch.draw(region.getTexture(), quad, 0, QUAD_SIZE);
+            }
+        }
+    }
+
+    // same vertex layout, flipping and rotation as OrthogonalTiledMapRenderer.renderTileLayer
+    private TextureRegion setQuad(TiledMapTileLayer layer, TiledMapTileLayer.Cell cell, int column, int row,
+                                  float color) {
+        TiledMapTile tile = cell.getTile();
+        TextureRegion region = tile.getTextureRegion();
+
+        float x1 = column * layer.getTileWidth() * unitScale + tile.getOffsetX() * unitScale +
+                layer.getRenderOffsetX() * unitScale;
+        float y1 = row * layer.getTileHeight() * unitScale + tile.getOffsetY() * unitScale -
+                layer.getRenderOffsetY() * unitScale;
+        float x2 = x1 + region.getRegionWidth() * unitScale;
+        float y2 = y1 + region.getRegionHeight() * unitScale;
+
+        float u1 = region.getU();
+        float v1 = region.getV2();
+        float u2 = region.getU2();
+        float v2 = region.getV();
+
+        quad[0] = x1;
+        quad[1] = y1;
+        quad[2] = color;
+        quad[3] = u1;
+        quad[4] = v1;
+
+        quad[5] = x1;
+        quad[6] = y2;
+        quad[7] = color;
+        quad[8] = u1;
+        quad[9] = v2;
+
+        quad[10] = x2;
+        quad[11] = y2;
+        quad[12] = color;
+        quad[13] = u2;
+        quad[14] = v2;
+
+        quad[15] = x2;
+        quad[16] = y1;
+        quad[17] = color;
+        quad[18] = u2;
+        quad[19] = v1;
+
+        if (cell.getFlipHorizontally()) {
+            swap(3, 13);
+            swap(8, 18);
+        }
+        if (cell.getFlipVertically()) {
+            swap(4, 14);
+            swap(9, 19);
+        }
+        switch (cell.getRotation()) {
+            case TiledMapTileLayer.Cell.ROTATE_90 -> {
+                rotate(4, 9, 14, 19);
+                rotate(3, 8, 13, 18);
+            }
+            case TiledMapTileLayer.Cell.ROTATE_180 -> {
+                swap(3, 13);
+                swap(8, 18);
+                swap(4, 14);
+                swap(9, 19);
+            }
+            case TiledMapTileLayer.Cell.ROTATE_270 -> {
+                rotate(4, 19, 14, 9);
+                rotate(3, 18, 13, 8);
+            }
+            default -> {
+            }
+        }
+        return region;
+    }
+
+    private void swap(int i, int j) {
+        float temp = quad[i];
+        quad[i] = quad[j];
+        quad[j] = temp;
+    }
+
+    // shifts the values one slot to the left: a <- b <- c <- d <- a
+    private void rotate(int a, int b, int c, int d) {
+        float temp = quad[a];
+        quad[a] = quad[b];
+        quad[b] = quad[c];
+        quad[c] = quad[d];
+        quad[d] = temp;
+    }
+
+    private static boolean isVisible(MapLayer layer) {
+        for (MapLayer current = layer; current != null; current = current.getParent()) {
+            if (!current.isVisible()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void beginBatch(Batch batch) {
+        if (!batch.isDrawing()) {
+            batch.begin();
+        }
+    }
+
+    private static void endBatch(Batch batch) {
+        if (batch.isDrawing()) {
+            batch.end();
+        }
+    }
+}
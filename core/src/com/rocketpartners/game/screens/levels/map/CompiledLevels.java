@@ -0,0 +1,276 @@
+package com.rocketpartners.game.screens.levels.map;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObjects;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.engine.common.GameLogger;
+import com.engine.screens.levels.tiledmap.TiledMapLoadResult;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Loads the binary levels compiled from the tmx files by the {@code compileLevels} Gradle task. A compiled level holds
+ * the tile ids of each tile layer and the rectangles of each object layer already converted to y-up coordinates,
+ * with every name, property key and string value interned in a string table. The table is followed by the values of
+ * every {@code atlas} property, so that the assets of a level can be listed without loading it. Tiles are taken from
+ * the packed level atlas, so a compiled level can only be loaded together with it.
+ *
+ * <p>The map has the same layers, objects and properties as one loaded by the tmx loader, so the layer builders
+ * and renderers work on it unchanged.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CompiledLevels {
+
+    public static final int MAGIC = 0x52504C56;
+    public static final int VERSION = 3;
+
+    private static final String TAG = "CompiledLevels";
+    private static final String LEVELS_PATH = "levels/";
+    private static final String FIRST_GID = "firstgid";
+
+    private static final int TILE_LAYER = 0;
+    private static final int OBJECT_LAYER = 1;
+
+    private static final int BOOLEAN_PROPERTY = 0;
+    private static final int INT_PROPERTY = 1;
+    private static final int FLOAT_PROPERTY = 2;
+    private static final int STRING_PROPERTY = 3;
+
+    private static final int FLIPPED_HORIZONTALLY = 0x80000000;
+    private static final int FLIPPED_VERTICALLY = 0x40000000;
+    private static final int FLIPPED_DIAGONALLY = 0x20000000;
+    private static final int GID_MASK = ~(FLIPPED_HORIZONTALLY | FLIPPED_VERTICALLY | FLIPPED_DIAGONALLY);
+
+    /**
+     * Returns the source of the level compiled from the tmx file, or null if it has not been compiled.
+     */
+    public static String getCompiledSource(@NotNull String tmxSource) {
+        String fileName = tmxSource.substring(tmxSource.lastIndexOf('/') + 1);
+        int extension = fileName.lastIndexOf('.');
+        String source = LEVELS_PATH + (extension == -1 ? fileName : fileName.substring(0, extension)) + ".lvl";
+        return Gdx.files.internal(source).exists() ? source : null;
+    }
+
+    /**
+     * Returns the values of the {@code atlas} properties of the compiled level, read from its header only.
+     */
+    public static Array<String> loadAtlasNames(@NotNull String source) {
+        ByteBuffer buffer = open(source);
+        buffer.position(buffer.position() + 4 * Integer.BYTES);
+        String[] strings = readStrings(buffer);
+        int count = buffer.getInt();
+        Array<String> atlasNames = new Array<>(count);
+        for (int i = 0; i < count; i++) {
+            atlasNames.add(strings[buffer.getInt()]);
+        }
+        return atlasNames;
+    }
+
+    public static TiledMapLoadResult load(@NotNull String source, @NotNull TextureAtlas tilesAtlas) {
+        long start = System.nanoTime();
+        ByteBuffer buffer = open(source);
+        int width = buffer.getInt();
+        int height = buffer.getInt();
+        int tileWidth = buffer.getInt();
+        int tileHeight = buffer.getInt();
+        String[] strings = readStrings(buffer);
+        int atlasCount = buffer.getInt();
+        buffer.position(buffer.position() + atlasCount * Integer.BYTES);
+
+        TiledMap map = new TiledMap();
+        readTilesets(buffer, strings, map, tilesAtlas);
+        MapProperties mapProps = map.getProperties();
+        mapProps.put("width", width);
+        mapProps.put("height", height);
+        mapProps.put("tilewidth", tileWidth);
+        mapProps.put("tileheight", tileHeight);
+        readProperties(buffer, strings, mapProps);
+
+        ObjectMap<String, MapObjects> layers = new ObjectMap<>();
+        int layerCount = buffer.getInt();
+        for (int i = 0; i < layerCount; i++) {
+            int kind = buffer.get();
+            String name = strings[buffer.getInt()];
+            MapLayer layer = kind == TILE_LAYER ?
+                    new TiledMapTileLayer(width, height, tileWidth, tileHeight) : new MapLayer();
+            layer.setName(name);
+            layer.setVisible(buffer.get() != 0);
+            layer.setOpacity(buffer.getFloat());
+            layer.setOffsetX(buffer.getFloat());
+            layer.setOffsetY(buffer.getFloat());
+            layer.setParallaxX(buffer.getFloat());
+            layer.setParallaxY(buffer.getFloat());
+            readProperties(buffer, strings, layer.getProperties());
+            if (kind == TILE_LAYER) {
+                readCells(buffer, map, (TiledMapTileLayer) layer);
+            } else if (kind == OBJECT_LAYER) {
+                readObjects(buffer, strings, layer.getObjects());
+            } else {
+                throw new GdxRuntimeException("Unknown layer kind " + kind + " in " + source);
+            }
+            map.getLayers().add(layer);
+            layers.put(name, layer.getObjects());
+        }
+
+        GameLogger.INSTANCE.debug(TAG, "load(): loaded " + source + " in " +
+                (System.nanoTime() - start) / 1_000_000f + " ms");
+        return new TiledMapLoadResult(map, layers, width, height);
+    }
+
+    // returns the buffer positioned after the magic number and the version
+    private static ByteBuffer open(String source) {
+        FileHandle file = Gdx.files.internal(source);
+        // FileHandle.map() uses the native byte order, but the levels are written big-endian
+        ByteBuffer buffer = (file.file().exists() ? file.map() : ByteBuffer.wrap(file.readBytes()))
+                .order(ByteOrder.BIG_ENDIAN);
+        if (buffer.getInt() != MAGIC) {
+            throw new GdxRuntimeException("Not a compiled level: " + source);
+        }
+        int version = buffer.getShort();
+        if (version != VERSION) {
+            throw new GdxRuntimeException("Compiled level " + source + " has version " + version + ", expected " +
+                    VERSION + "; recompile the levels");
+        }
+        return buffer;
+    }
+
+    private static String[] readStrings(ByteBuffer buffer) {
+        String[] strings = new String[buffer.getInt()];
+        byte[] bytes = new byte[64];
+        for (int i = 0; i < strings.length; i++) {
+            int length = buffer.getInt();
+            if (length > bytes.length) {
+                bytes = new byte[length];
+            }
+            buffer.get(bytes, 0, length);
+            strings[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    private static void readTilesets(ByteBuffer buffer, String[] strings, TiledMap map, TextureAtlas tilesAtlas) {
+        int tilesetCount = buffer.getInt();
+        for (int i = 0; i < tilesetCount; i++) {
+            TiledMapTileSet tileset = new TiledMapTileSet();
+            tileset.setName(strings[buffer.getInt()]);
+            int firstGid = buffer.getInt();
+            tileset.getProperties().put(FIRST_GID, firstGid);
+            float offsetX = buffer.getFloat();
+            float offsetY = buffer.getFloat();
+            for (TextureAtlas.AtlasRegion region : tilesAtlas.findRegions(tileset.getName())) {
+                StaticTiledMapTile tile = new StaticTiledMapTile(region);
+                tile.setId(firstGid + region.index);
+                tile.setOffsetX(offsetX);
+                tile.setOffsetY(offsetY);
+                tileset.putTile(tile.getId(), tile);
+            }
+
+            int animatedCount = buffer.getInt();
+            for (int j = 0; j < animatedCount; j++) {
+                int id = firstGid + buffer.getInt();
+                int frameCount = buffer.getInt();
+                Array<StaticTiledMapTile> frames = new Array<>(frameCount);
+                int[] intervals = new int[frameCount];
+                for (int k = 0; k < frameCount; k++) {
+                    frames.add((StaticTiledMapTile) tileset.getTile(firstGid + buffer.getInt()));
+                    intervals[k] = buffer.getInt();
+                }
+                AnimatedTiledMapTile tile = new AnimatedTiledMapTile(new IntArray(intervals), frames);
+                tile.setId(id);
+                tileset.putTile(id, tile);
+            }
+            map.getTileSets().addTileSet(tileset);
+        }
+    }
+
+    private static void readCells(ByteBuffer buffer, TiledMap map, TiledMapTileLayer layer) {
+        for (int y = 0; y < layer.getHeight(); y++) {
+            for (int x = 0; x < layer.getWidth(); x++) {
+                int gid = buffer.getInt();
+                if (gid == 0) {
+                    continue;
+                }
+                boolean flipHorizontally = (gid & FLIPPED_HORIZONTALLY) != 0;
+                boolean flipVertically = (gid & FLIPPED_VERTICALLY) != 0;
+                boolean flipDiagonally = (gid & FLIPPED_DIAGONALLY) != 0;
+                TiledMapTileLayer.Cell cell = createCell(flipHorizontally, flipVertically, flipDiagonally);
+                cell.setTile(map.getTileSets().getTile(gid & GID_MASK));
+                layer.setCell(x, y, cell);
+            }
+        }
+    }
+
+    // same as the tmx loader
+    private static TiledMapTileLayer.Cell createCell(boolean flipHorizontally, boolean flipVertically,
+                                                     boolean flipDiagonally) {
+        TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
+        if (flipDiagonally) {
+            if (flipHorizontally && flipVertically) {
+                cell.setFlipHorizontally(true);
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            } else if (flipHorizontally) {
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            } else if (flipVertically) {
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_90);
+            } else {
+                cell.setFlipVertically(true);
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            }
+        } else {
+            cell.setFlipHorizontally(flipHorizontally);
+            cell.setFlipVertically(flipVertically);
+        }
+        return cell;
+    }
+
+    private static void readObjects(ByteBuffer buffer, String[] strings, MapObjects objects) {
+        int objectCount = buffer.getInt();
+        for (int i = 0; i < objectCount; i++) {
+            int nameIndex = buffer.getInt();
+            float x = buffer.getFloat();
+            float y = buffer.getFloat();
+            float width = buffer.getFloat();
+            float height = buffer.getFloat();
+            RectangleMapObject object = new RectangleMapObject(x, y, width, height);
+            if (nameIndex != -1) {
+                object.setName(strings[nameIndex]);
+            }
+            object.setVisible(buffer.get() != 0);
+            readProperties(buffer, strings, object.getProperties());
+            objects.add(object);
+        }
+    }
+
+    private static void readProperties(ByteBuffer buffer, String[] strings, MapProperties properties) {
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            String key = strings[buffer.getInt()];
+            int type = buffer.get();
+            switch (type) {
+                case BOOLEAN_PROPERTY -> properties.put(key, buffer.get() != 0);
+                case INT_PROPERTY -> properties.put(key, buffer.getInt());
+                case FLOAT_PROPERTY -> properties.put(key, buffer.getFloat());
+                case STRING_PROPERTY -> properties.put(key, strings[buffer.getInt()]);
+                default -> throw new GdxRuntimeException("Unknown property type " + type + " for " + key);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.rocketpartners.game.screens.levels.map;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.engine.common.GameLogger;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Remaps the tiles of a loaded map onto the level atlas written by the {@code packAtlases} Gradle task. The atlas
+ * has one region per used tile, named after the tileset with the local tile id as index.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class PackedTilesets {
+
+    private static final String TAG = "PackedTilesets";
+    private static final String ATLAS_PATH = "atlases/";
+    private static final String FIRST_GID = "firstgid";
+
+    /**
+     * Returns the source of the level atlas packed for the tmx file, or null if it has not been packed.
+     */
+    public static String getAtlasSource(@NotNull String tmxSource) {
+        String fileName = tmxSource.substring(tmxSource.lastIndexOf('/') + 1);
+        int extension = fileName.lastIndexOf('.');
+        String source = ATLAS_PATH + (extension == -1 ? fileName : fileName.substring(0, extension)) + ".atlas";
+        return Gdx.files.internal(source).exists() ? source : null;
+    }
+
+    public static int remap(@NotNull TiledMap map, @NotNull TextureAtlas atlas) {
+        ObjectMap<String, IntMap<TextureAtlas.AtlasRegion>> regions = new ObjectMap<>();
+        for (TextureAtlas.AtlasRegion region : atlas.getRegions()) {
+            IntMap<TextureAtlas.AtlasRegion> tilesetRegions = regions.get(region.name);
+            if (tilesetRegions == null) {
+                tilesetRegions = new IntMap<>();
+                regions.put(region.name, tilesetRegions);
+            }
+            tilesetRegions.put(region.index, region);
+        }
+
+        int remapped = 0;
+        for (TiledMapTileSet tileset : map.getTileSets()) {
+            IntMap<TextureAtlas.AtlasRegion> tilesetRegions = regions.get(tileset.getName());
+            if (tilesetRegions == null) {
+                continue;
+            }
+            int firstGid = tileset.getProperties().get(FIRST_GID, 1, Integer.class);
+            for (TiledMapTile tile : tileset) {
+                // the frames of an animated tile are static tiles of the same tileset and are remapped themselves
+                if (tile instanceof AnimatedTiledMapTile) {
+                    continue;
+                }
+                TextureAtlas.AtlasRegion region = tilesetRegions.get(tile.getId() - firstGid);
+                if (region != null) {
+                    tile.setTextureRegion(region);
+                    remapped++;
+                }
+            }
+        }
+        GameLogger.INSTANCE.debug(TAG, "remap(): remapped " + remapped + " tiles");
+        return remapped;
+    }
+}
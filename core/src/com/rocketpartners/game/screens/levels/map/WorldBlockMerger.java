@@ -0,0 +1,124 @@
+package com.rocketpartners.game.screens.levels.map;
+
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.OrderedMap;
+import com.engine.common.objects.Properties;
+import com.engine.common.shapes.GameRectangle;
+import com.rocketpartners.game.utils.MapObjectUtils;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.TreeMap;
+
+import static com.rocketpartners.game.Constants.ConstKeys;
+
+/**
+ * Greedily merges touching, coplanar world block rectangles that share the same custom map properties. Runs of
+ * blocks on the same row are merged first, then runs of the resulting rectangles on the same column. Merging is
+ * opt-in per layer through the {@code merge} layer property.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class WorldBlockMerger {
+
+    private static final float EPSILON = 0.01f;
+    private static final Array<String> IGNORED_KEYS = new Array<>(new String[]{
+            "id", "x", "y", "width", "height", "rotation"
+    });
+
+    // Sorted by coordinates snapped to the epsilon grid so that the order is transitive; the epsilon itself is only
+    // used when testing whether two neighbours merge.
+    private static final Comparator<GameRectangle> ROWS = Comparator
+            .<GameRectangle>comparingLong(r -> snap(r.y))
+            .thenComparingLong(r -> snap(r.height))
+            .thenComparingDouble(r -> r.x);
+
+    private static final Comparator<GameRectangle> COLUMNS = Comparator
+            .<GameRectangle>comparingLong(r -> snap(r.x))
+            .thenComparingLong(r -> snap(r.width))
+            .thenComparingDouble(r -> r.y);
+
+    /**
+     * Returns the spawn properties of the merged blocks. Each merged block takes the properties of the first
+     * rectangle of its group with its bounds replaced by the merged bounds.
+     */
+    public static Array<Properties> merge(@NotNull Array<RectangleMapObject> rectangles) {
+        OrderedMap<String, Array<RectangleMapObject>> groups = new OrderedMap<>();
+        for (RectangleMapObject rectangle : rectangles) {
+            String key = getMergeKey(rectangle.getProperties());
+            Array<RectangleMapObject> group = groups.get(key);
+            if (group == null) {
+                group = new Array<>();
+                groups.put(key, group);
+            }
+            group.add(rectangle);
+        }
+
+        Array<Properties> merged = new Array<>();
+        for (Array<RectangleMapObject> group : groups.values()) {
+            Array<GameRectangle> bounds = new Array<>(group.size);
+            group.forEach(rectangle -> bounds.add(new GameRectangle(rectangle.getRectangle())));
+
+            Array<GameRectangle> result = mergeRuns(mergeRuns(bounds, ROWS, true), COLUMNS, false);
+            for (GameRectangle rectangle : result) {
+                Properties props = MapObjectUtils.toProps(group.first());
+                props.put(ConstKeys.BOUNDS, rectangle);
+                merged.add(props);
+            }
+        }
+        return merged;
+    }
+
+    private static Array<GameRectangle> mergeRuns(Array<GameRectangle> rectangles, Comparator<GameRectangle> order,
+                                                  boolean horizontal) {
+        Array<GameRectangle> result = new Array<>(rectangles.size);
+        if (rectangles.isEmpty()) {
+            return result;
+        }
+        rectangles.sort(order);
+
+        GameRectangle current = rectangles.first();
+        for (int i = 1; i < rectangles.size; i++) {
+            GameRectangle next = rectangles.get(i);
+            if (horizontal && isSameRow(current, next) && next.x <= current.x + current.width + EPSILON) {
+                current.width = Math.max(current.x + current.width, next.x + next.width) - current.x;
+            } else if (!horizontal && isSameColumn(current, next) && next.y <= current.y + current.height + EPSILON) {
+                current.height = Math.max(current.y + current.height, next.y + next.height) - current.y;
+            } else {
+                result.add(current);
+                current = next;
+            }
+        }
+        result.add(current);
+        return result;
+    }
+
+    private static boolean isSameRow(GameRectangle a, GameRectangle b) {
+        return MathUtils.isEqual(a.y, b.y, EPSILON) && MathUtils.isEqual(a.height, b.height, EPSILON);
+    }
+
+    private static boolean isSameColumn(GameRectangle a, GameRectangle b) {
+        return MathUtils.isEqual(a.x, b.x, EPSILON) && MathUtils.isEqual(a.width, b.width, EPSILON);
+    }
+
+    private static long snap(float value) {
+        return Math.round(value / EPSILON);
+    }
+
+    private static String getMergeKey(MapProperties mapProps) {
+        TreeMap<String, String> sorted = new TreeMap<>();
+        Iterator<String> keys = mapProps.getKeys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            if (!IGNORED_KEYS.contains(key, false)) {
+                sorted.put(key, String.valueOf(mapProps.get(key)));
+            }
+        }
+        return sorted.toString();
+    }
+}
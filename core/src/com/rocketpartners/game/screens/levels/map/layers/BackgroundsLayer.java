@@ -1,5 +1,6 @@
 package com.rocketpartners.game.screens.levels.map.layers;
 
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.MapObject;
@@ -25,6 +26,7 @@ public class BackgroundsLayer implements ITiledMapLayerBuilder {
     @Override
     public void build(@NotNull MapLayer mapLayer, @NotNull Properties properties) {
         Array<Background> backgrounds = new Array<>();
+        Camera backgroundCamera = game.getViewports().get(ConstKeys.BACKGROUND).getCamera();
 
         for (MapObject mapObject : mapLayer.getObjects()) {
             if (mapObject instanceof RectangleMapObject r) {
@@ -36,7 +38,7 @@ public class BackgroundsLayer implements ITiledMapLayerBuilder {
                         game.getAssMan(), atlasKey, regionKey);
                 Rectangle bounds = r.getRectangle();
                 Background background = new Background(bounds.getX(), bounds.getY(), backgroundRegion,
-                        bounds.getWidth(), bounds.getHeight(), rows, columns);
+                        bounds.getWidth(), bounds.getHeight(), rows, columns, backgroundCamera);
                 backgrounds.add(background);
             }
         }
@@ -1,29 +1,51 @@
 package com.rocketpartners.game.screens.levels.map.layers;
 
 import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
 import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.utils.Array;
+import com.engine.common.GameLogger;
 import com.engine.common.objects.Properties;
 import com.engine.screens.levels.tiledmap.builders.ITiledMapLayerBuilder;
 import com.rocketpartners.game.RocketPartnersGame;
 import com.rocketpartners.game.entities.blocks.WorldBlock;
+import com.rocketpartners.game.screens.levels.map.WorldBlockMerger;
 import com.rocketpartners.game.utils.MapObjectUtils;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 
+import static com.rocketpartners.game.Constants.ConstKeys;
+
 @RequiredArgsConstructor
 public class WorldBlocksLayer implements ITiledMapLayerBuilder {
 
+    public static final String TAG = "WorldBlocksLayer";
+
     private final RocketPartnersGame game;
 
     @Override
     public void build(@NotNull MapLayer mapLayer, @NotNull Properties properties) {
-        mapLayer.getObjects().forEach(object -> {
-            if (object instanceof RectangleMapObject) {
-                Properties spawnProps = MapObjectUtils.convertToProps(object);
-                assert spawnProps != null;
-                WorldBlock worldBlock = new WorldBlock(game);
-                game.getEngine().spawn(worldBlock, spawnProps);
+        Array<RectangleMapObject> rectangles = new Array<>();
+        for (MapObject mapObject : mapLayer.getObjects()) {
+            if (mapObject instanceof RectangleMapObject r) {
+                rectangles.add(r);
             }
+        }
+
+        Array<Properties> spawnPropsArray;
+        if (mapLayer.getProperties().get(ConstKeys.MERGE, false, Boolean.class)) {
+            spawnPropsArray = WorldBlockMerger.merge(rectangles);
+            int removed = rectangles.size - spawnPropsArray.size;
+            GameLogger.INSTANCE.debug(TAG, "build(): merged " + rectangles.size + " world blocks into " +
+                    spawnPropsArray.size + ", removed " + removed + " colliders");
+        } else {
+            spawnPropsArray = new Array<>(rectangles.size);
+            rectangles.forEach(r -> spawnPropsArray.add(MapObjectUtils.toProps(r)));
+        }
+
+        spawnPropsArray.forEach(spawnProps -> {
+            WorldBlock worldBlock = new WorldBlock(game);
+            game.getEngine().spawn(worldBlock, spawnProps);
         });
     }
 }
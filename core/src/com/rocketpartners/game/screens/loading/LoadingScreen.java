@@ -0,0 +1,95 @@
+package com.rocketpartners.game.screens.loading;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.engine.IGame2D;
+import com.engine.common.GameLogger;
+import com.engine.common.objects.Properties;
+import com.engine.screens.BaseScreen;
+import com.rocketpartners.game.drawables.BitmapFontHandleUtils;
+import com.rocketpartners.game.drawables.CachedFontHandle;
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+
+import static com.rocketpartners.game.Constants.ConstKeys;
+import static com.rocketpartners.game.Constants.ConstVals;
+
+/**
+ * Updates the asset manager for at most the frame budget each frame and draws the loading progress. Once every
+ * queued asset is loaded, the on-finished callback is run once, which is expected to set the next screen.
+ */
+public class LoadingScreen extends BaseScreen {
+
+    private static final String TAG = "LoadingScreen";
+
+    @Getter
+    private final ObjectSet<Object> eventKeyMask;
+    private final int frameBudgetMillis;
+    @Setter
+    private Runnable onFinished;
+    private Camera uiCamera;
+    private CachedFontHandle progressText;
+    private int progress;
+
+    public LoadingScreen(@NotNull IGame2D game, int frameBudgetMillis) {
+        super(game, new Properties());
+        this.frameBudgetMillis = frameBudgetMillis;
+        eventKeyMask = new ObjectSet<>();
+    }
+
+    @Override
+    public void init() {
+        super.init();
+        uiCamera = getGame().getViewports().get(ConstKeys.UI).getCamera();
+        progressText = BitmapFontHandleUtils.createCached("Loading ", () -> progress);
+    }
+
+    @Override
+    public void show() {
+        super.show();
+        GameLogger.INSTANCE.debug(TAG, "show()");
+        progress = 0;
+    }
+
+    @Override
+    public void render(float delta) {
+        AssetManager assMan = getGame().getAssMan();
+        boolean finished = assMan.update(frameBudgetMillis);
+        progress = (int) (assMan.getProgress() * 100f);
+        draw();
+        if (finished && onFinished != null) {
+            GameLogger.INSTANCE.debug(TAG, "render(): finished loading");
+            Runnable finish = onFinished;
+            onFinished = null;
+            finish.run();
+        }
+    }
+
+    private void draw() {
+        float barWidth = uiCamera.viewportWidth / 2f;
+        float barHeight = ConstVals.PPM / 4f;
+        float barX = uiCamera.position.x - barWidth / 2f;
+        float barY = uiCamera.position.y - barHeight / 2f;
+
+        ShapeRenderer shapeRenderer = getGame().getShapeRenderer();
+        shapeRenderer.setProjectionMatrix(uiCamera.combined);
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.setColor(Color.DARK_GRAY);
+        shapeRenderer.rect(barX, barY, barWidth, barHeight);
+        shapeRenderer.setColor(Color.WHITE);
+        shapeRenderer.rect(barX, barY, barWidth * progress / 100f, barHeight);
+        shapeRenderer.end();
+
+        progressText.getPosition().set(uiCamera.position.x, barY + barHeight + ConstVals.PPM / 2f);
+        Batch batch = getGame().getBatch();
+        batch.setProjectionMatrix(uiCamera.combined);
+        batch.begin();
+        progressText.draw(batch);
+        batch.end();
+    }
+}
@@ -27,8 +27,10 @@ public class BodyComponentCreator {
 
     private static void define(IGameEntity entity, Body body) {
         body.putProperty(ConstKeys.ENTITY, entity);
-        Updatable preProcessDelta = delta -> body.putProperty(ConstKeys.PRIOR, body.getPosition());
-        body.getPreProcess().put(ConstKeys.DELTA, preProcessDelta);
+        MotionHistory motionHistory = BodyExtensions.getMotionHistory(body);
+        body.getPreProcess().put(ConstKeys.DELTA, (Updatable) delta -> motionHistory.record(body));
+        BodySenses bodySenses = BodyExtensions.getBodySenses(body);
+        body.getPostProcess().put(ConstKeys.BODY_SENSES, (Updatable) delta -> bodySenses.step());
         body.getFixtures().forEach(e -> {
             IFixture fixture = e.getSecond();
             fixture.putProperty(ConstKeys.ENTITY, entity);
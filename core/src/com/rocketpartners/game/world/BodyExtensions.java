@@ -1,57 +1,85 @@
 package com.rocketpartners.game.world;
 
 import com.badlogic.gdx.math.Vector2;
+import com.engine.common.shapes.GameRectangle;
 import com.engine.world.Body;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.EnumSet;
-import java.util.Set;
-
 import static com.rocketpartners.game.Constants.ConstKeys;
+import static com.rocketpartners.game.Constants.ConstVals;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class BodyExtensions {
 
     public static boolean isBodySensing(@NotNull Body body, @NotNull BodySense bodySense) {
-        Set<BodySense> bodySenses = getBodySenses(body);
-        return bodySenses.contains(bodySense);
+        return getBodySenses(body).isSensing(bodySense);
     }
 
     public static boolean isBodySensingAny(@NotNull Body body, @NotNull BodySense... bodySenses) {
-        Set<BodySense> bodySensesSet = getBodySenses(body);
-        for (BodySense bodySense : bodySenses) {
-            if (bodySensesSet.contains(bodySense)) {
-                return true;
-            }
-        }
-        return false;
+        return getBodySenses(body).isSensingAny(BodySenses.maskOf(bodySenses));
     }
 
-    public static Set<BodySense> getBodySenses(@NotNull Body body) {
-        if (!body.hasProperty(ConstKeys.BODY_SENSES)) {
-            body.putProperty(ConstKeys.BODY_SENSES, EnumSet.noneOf(BodySense.class));
-        }
-        return (Set<BodySense>) body.getProperty(ConstKeys.BODY_SENSES);
+    /**
+     * Returns the senses held by the body, which must be a {@link GameBody}.
+     */
+    public static BodySenses getBodySenses(@NotNull Body body) {
+        return ((GameBody) body).getBodySenses();
     }
 
     public static void setBodySense(@NotNull Body body, @NotNull BodySense bodySense, boolean value) {
-        Set<BodySense> bodySenses = getBodySenses(body);
-        if (value) {
-            bodySenses.add(bodySense);
-        } else {
-            bodySenses.remove(bodySense);
+        getBodySenses(body).set(bodySense, value);
+    }
+
+    public static boolean isFastMoving(@NotNull Body body) {
+        return Boolean.TRUE.equals(body.getProperty(ConstKeys.FAST_MOVING));
+    }
+
+    /**
+     * Flags a dynamic body to be swept against static bodies whenever a step would move it far enough to tunnel.
+     */
+    public static void setFastMoving(@NotNull Body body, boolean fastMoving) {
+        body.putProperty(ConstKeys.FAST_MOVING, fastMoving);
+    }
+
+    public static boolean canSleep(@NotNull Body body) {
+        return !Boolean.FALSE.equals(body.getProperty(ConstKeys.CAN_SLEEP));
+    }
+
+    /**
+     * Dynamic bodies can sleep by default. Bodies driven by input should opt out, since input that leaves their
+     * velocity unchanged would never wake them.
+     */
+    public static void setCanSleep(@NotNull Body body, boolean canSleep) {
+        body.putProperty(ConstKeys.CAN_SLEEP, canSleep);
+    }
+
+    public static MotionHistory getMotionHistory(@NotNull Body body) {
+        MotionHistory motionHistory = (MotionHistory) body.getProperty(ConstKeys.MOTION_HISTORY);
+        if (motionHistory == null) {
+            motionHistory = new MotionHistory(ConstVals.MOTION_HISTORY_SIZE);
+            body.putProperty(ConstKeys.MOTION_HISTORY, motionHistory);
         }
+        return motionHistory;
+    }
+
+    public static Vector2 getPosDelta(@NotNull Body body, @NotNull Vector2 out) {
+        return getMotionHistory(body).getDelta(body, out);
     }
 
-    public static Vector2 getPosDelta(@NotNull Body body) {
-        Vector2 prior = getPriorPosition(body);
-        Vector2 current = body.getPosition();
-        return current.cpy().sub(prior);
+    public static Vector2 getPriorPosition(@NotNull Body body, @NotNull Vector2 out) {
+        MotionHistory motionHistory = getMotionHistory(body);
+        return motionHistory.getSize() == 0 ? out.set(body.x, body.y) : motionHistory.getPosition(0, out);
     }
 
-    public static Vector2 getPriorPosition(@NotNull Body body) {
-        return (Vector2) body.getProperty(ConstKeys.PRIOR);
+    public static GameRectangle getInterpolatedBounds(@NotNull Body body, float alpha, @NotNull GameRectangle out) {
+        MotionHistory motionHistory = getMotionHistory(body);
+        out.set(body);
+        if (motionHistory.getSize() > 0) {
+            out.x = motionHistory.getX(0) + (body.x - motionHistory.getX(0)) * alpha;
+            out.y = motionHistory.getY(0) + (body.y - motionHistory.getY(0)) * alpha;
+        }
+        return out;
     }
 }
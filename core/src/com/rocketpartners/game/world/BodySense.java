@@ -1,8 +1,13 @@
 package com.rocketpartners.game.world;
 
+import lombok.Getter;
+
+@Getter
 public enum BodySense {
     FEET_ON_GROUND,
     HEAD_TOUCHING_BLOCK,
     SIDE_TOUCHING_BLOCK_LEFT,
-    SIDE_TOUCHING_BLOCK_RIGHT,
+    SIDE_TOUCHING_BLOCK_RIGHT;
+
+    private final int mask = 1 << ordinal();
 }
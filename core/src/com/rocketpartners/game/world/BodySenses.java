@@ -0,0 +1,86 @@
+package com.rocketpartners.game.world;
+
+import com.engine.common.interfaces.Resettable;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Body senses packed into an int bitmask. {@link #step()} is run as a body post-process after the world has
+ * dispatched its contacts, so {@link #getChangedMask()} holds the senses that flipped during the last world step.
+ */
+@Getter
+public class BodySenses implements Resettable {
+
+    private int mask;
+    private int priorMask;
+    private int changedMask;
+
+    public static int maskOf(@NotNull BodySense... bodySenses) {
+        int mask = 0;
+        for (BodySense bodySense : bodySenses) {
+            mask |= bodySense.getMask();
+        }
+        return mask;
+    }
+
+    public boolean isSensing(@NotNull BodySense bodySense) {
+        return (mask & bodySense.getMask()) != 0;
+    }
+
+    public boolean isSensingAny(int mask) {
+        return (this.mask & mask) != 0;
+    }
+
+    public boolean isSensingAll(int mask) {
+        return (this.mask & mask) == mask;
+    }
+
+    public void set(@NotNull BodySense bodySense, boolean value) {
+        if (value) {
+            mask |= bodySense.getMask();
+        } else {
+            mask &= ~bodySense.getMask();
+        }
+    }
+
+    public void set(int mask) {
+        this.mask |= mask;
+    }
+
+    public void clear(int mask) {
+        this.mask &= ~mask;
+    }
+
+    public boolean isChanged(@NotNull BodySense bodySense) {
+        return (changedMask & bodySense.getMask()) != 0;
+    }
+
+    public boolean isJustSensing(@NotNull BodySense bodySense) {
+        return isChanged(bodySense) && isSensing(bodySense);
+    }
+
+    public boolean isJustStoppedSensing(@NotNull BodySense bodySense) {
+        return isChanged(bodySense) && !isSensing(bodySense);
+    }
+
+    public void step() {
+        changedMask = mask ^ priorMask;
+        priorMask = mask;
+    }
+
+    /**
+     * Drops the changes of the last step. Called when the body goes to rest, since resting bodies skip the
+     * post-process that would otherwise clear them.
+     */
+    public void clearChanged() {
+        priorMask = mask;
+        changedMask = 0;
+    }
+
+    @Override
+    public void reset() {
+        mask = 0;
+        priorMask = 0;
+        changedMask = 0;
+    }
+}
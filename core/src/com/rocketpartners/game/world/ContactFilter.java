@@ -0,0 +1,65 @@
+package com.rocketpartners.game.world;
+
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Filter matrix deciding which fixture type pairs are checked for contacts. Each {@link FixtureType} has a category
+ * bit and a mask of the categories it may touch, so a pair check is a single AND.
+ * <p>
+ * The matrix is compiled from the same kind of map the engine's world system takes: a fixture type is looked for
+ * only if it is a key of the map, and a pair is accepted if either side's set contains the other's type. Fixture
+ * types that are not {@link FixtureType}s fall back to checking the map.
+ */
+public class ContactFilter {
+
+    private static final int FIXTURE_TYPES = FixtureType.values().length;
+
+    private final int[] masks;
+    private final ObjectMap<Object, ObjectSet<Object>> filterMap;
+
+    private ContactFilter(int[] masks, ObjectMap<Object, ObjectSet<Object>> filterMap) {
+        this.masks = masks;
+        this.filterMap = filterMap;
+    }
+
+    /**
+     * Compiles the filter map into a matrix. A null map accepts every pair.
+     */
+    public static ContactFilter compile(ObjectMap<Object, ObjectSet<Object>> filterMap) {
+        int[] masks = new int[FIXTURE_TYPES];
+        FixtureType[] types = FixtureType.values();
+        for (FixtureType type1 : types) {
+            for (FixtureType type2 : types) {
+                if (accepts(filterMap, type1, type2)) {
+                    masks[type1.ordinal()] |= type2.getCategory();
+                }
+            }
+        }
+        return new ContactFilter(masks, filterMap);
+    }
+
+    public boolean accepts(@NotNull Object type1, @NotNull Object type2) {
+        if (type1 instanceof FixtureType fixtureType1 && type2 instanceof FixtureType fixtureType2) {
+            return (masks[fixtureType1.ordinal()] & fixtureType2.getCategory()) != 0;
+        }
+        return accepts(filterMap, type1, type2);
+    }
+
+    public int getMask(@NotNull FixtureType fixtureType) {
+        return masks[fixtureType.ordinal()];
+    }
+
+    private static boolean accepts(ObjectMap<Object, ObjectSet<Object>> filterMap, Object type1, Object type2) {
+        if (filterMap == null) {
+            return true;
+        }
+        ObjectSet<Object> filter1 = filterMap.get(type1);
+        ObjectSet<Object> filter2 = filterMap.get(type2);
+        if (filter1 == null && filter2 == null) {
+            return false;
+        }
+        return filter1 == null || filter1.contains(type2) || filter2 == null || filter2.contains(type1);
+    }
+}
@@ -1,8 +1,8 @@
 package com.rocketpartners.game.world;
 
-import com.badlogic.gdx.math.Vector2;
 import com.engine.common.enums.ProcessState;
 import com.engine.entities.IGameEntity;
+import com.engine.world.Body;
 import com.engine.world.Contact;
 import com.engine.world.IContactListener;
 import com.engine.world.IFixture;
@@ -10,60 +10,73 @@ import com.rocketpartners.game.Constants;
 import com.rocketpartners.game.RocketPartnersGame;
 import com.rocketpartners.game.entities.Player;
 import com.rocketpartners.game.entities.blocks.BaseBlock;
-import kotlin.Pair;
-import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 
-@RequiredArgsConstructor
 public class ContactListener implements IContactListener {
 
+    @FunctionalInterface
+    private interface ContactHandler {
+
+        void handle(@NotNull IFixture fixture1, @NotNull IFixture fixture2, @NotNull ProcessState processState);
+    }
+
+    private static final int FIXTURE_TYPES = FixtureType.values().length;
+
     private final RocketPartnersGame game;
+    private final ContactHandler[] handlers;
+
+    public ContactListener(@NotNull RocketPartnersGame game) {
+        this.game = game;
+        handlers = new ContactHandler[FIXTURE_TYPES * FIXTURE_TYPES];
+
+        register(FixtureType.FEET, FixtureType.WORLD_BLOCK, this::handleFeetWorldBlockContact);
+        register(FixtureType.SIDE, FixtureType.WORLD_BLOCK, this::handleSideWorldBlockContact);
+        register(FixtureType.HEAD, FixtureType.WORLD_BLOCK, this::handleHeadWorldBlockContact);
+    }
 
     @Override
     public void beginContact(@NotNull Contact contact, float delta) {
-        if (contact.fixturesMatch(FixtureType.FEET, FixtureType.WORLD_BLOCK)) {
-            handleFeetWorldBlockContact(contact, ProcessState.BEGIN);
-        } else if (contact.fixturesMatch(FixtureType.SIDE, FixtureType.WORLD_BLOCK)) {
-            handleSideWorldBlockContact(contact, ProcessState.BEGIN);
-        } else if (contact.fixturesMatch(FixtureType.HEAD, FixtureType.WORLD_BLOCK)) {
-            handleHeadWorldBlockContact(contact, ProcessState.BEGIN);
-        }
+        dispatch(contact, ProcessState.BEGIN);
     }
 
     @Override
     public void continueContact(@NotNull Contact contact, float v) {
-        if (contact.fixturesMatch(FixtureType.FEET, FixtureType.WORLD_BLOCK)) {
-            handleFeetWorldBlockContact(contact, ProcessState.CONTINUE);
-        } else if (contact.fixturesMatch(FixtureType.SIDE, FixtureType.WORLD_BLOCK)) {
-            handleSideWorldBlockContact(contact, ProcessState.CONTINUE);
-        } else if (contact.fixturesMatch(FixtureType.HEAD, FixtureType.WORLD_BLOCK)) {
-            handleHeadWorldBlockContact(contact, ProcessState.CONTINUE);
-        }
+        dispatch(contact, ProcessState.CONTINUE);
     }
 
     @Override
     public void endContact(@NotNull Contact contact, float v) {
-        if (contact.fixturesMatch(FixtureType.FEET, FixtureType.WORLD_BLOCK)) {
-            handleFeetWorldBlockContact(contact, ProcessState.END);
-        } else if (contact.fixturesMatch(FixtureType.SIDE, FixtureType.WORLD_BLOCK)) {
-            handleSideWorldBlockContact(contact, ProcessState.END);
-        } else if (contact.fixturesMatch(FixtureType.HEAD, FixtureType.WORLD_BLOCK)) {
-            handleHeadWorldBlockContact(contact, ProcessState.END);
+        dispatch(contact, ProcessState.END);
+    }
+
+    // the handler is stored under both orderings of the pair so that dispatching never has to sort the fixtures
+    private void register(@NotNull FixtureType type1, @NotNull FixtureType type2, @NotNull ContactHandler handler) {
+        handlers[type1.ordinal() * FIXTURE_TYPES + type2.ordinal()] = handler;
+        if (type1 != type2) {
+            handlers[type2.ordinal() * FIXTURE_TYPES + type1.ordinal()] =
+                    (fixture1, fixture2, processState) -> handler.handle(fixture2, fixture1, processState);
         }
     }
 
-    private void handleFeetWorldBlockContact(@NotNull Contact contact, @NotNull ProcessState processState) {
-        Pair<IFixture, IFixture> fixtures = contact.getFixturesInOrder(FixtureType.FEET, FixtureType.WORLD_BLOCK);
-        if (fixtures == null) {
-            return;
+    private void dispatch(@NotNull Contact contact, @NotNull ProcessState processState) {
+        IFixture fixture1 = contact.getFixture1();
+        IFixture fixture2 = contact.getFixture2();
+        if (fixture1.getFixtureType() instanceof FixtureType type1 &&
+                fixture2.getFixtureType() instanceof FixtureType type2) {
+            ContactHandler handler = handlers[type1.ordinal() * FIXTURE_TYPES + type2.ordinal()];
+            if (handler != null) {
+                handler.handle(fixture1, fixture2, processState);
+            }
         }
-        IFixture feetFixture = fixtures.component1();
-        IFixture blockFixture = fixtures.component2();
+    }
 
+    private void handleFeetWorldBlockContact(@NotNull IFixture feetFixture, @NotNull IFixture blockFixture,
+                                             @NotNull ProcessState processState) {
         BodyExtensions.setBodySense(feetFixture.getBody(), BodySense.FEET_ON_GROUND, processState != ProcessState.END);
 
-        Vector2 posDelta = BodyExtensions.getPosDelta(blockFixture.getBody());
-        feetFixture.getBody().translation(posDelta);
+        Body blockBody = blockFixture.getBody();
+        MotionHistory blockMotion = BodyExtensions.getMotionHistory(blockBody);
+        feetFixture.getBody().translation(blockMotion.getDeltaX(blockBody), blockMotion.getDeltaY(blockBody));
 
         IGameEntity entity = FixtureExtensions.getEntity(feetFixture);
         if (entity instanceof Player player) {
@@ -76,14 +89,8 @@ public class ContactListener implements IContactListener {
         }
     }
 
-    private void handleHeadWorldBlockContact(@NotNull Contact contact, @NotNull ProcessState processState) {
-        Pair<IFixture, IFixture> fixtures = contact.getFixturesInOrder(FixtureType.HEAD, FixtureType.WORLD_BLOCK);
-        if (fixtures == null) {
-            return;
-        }
-        IFixture headFixture = fixtures.component1();
-        IFixture blockFixture = fixtures.component2();
-
+    private void handleHeadWorldBlockContact(@NotNull IFixture headFixture, @NotNull IFixture blockFixture,
+                                             @NotNull ProcessState processState) {
         BodyExtensions.setBodySense(headFixture.getBody(), BodySense.HEAD_TOUCHING_BLOCK,
                 processState != ProcessState.END);
         if (processState == ProcessState.BEGIN) {
@@ -91,12 +98,8 @@ public class ContactListener implements IContactListener {
         }
     }
 
-    private void handleSideWorldBlockContact(@NotNull Contact contact, @NotNull ProcessState processState) {
-        Pair<IFixture, IFixture> fixtures = contact.getFixturesInOrder(FixtureType.SIDE, FixtureType.WORLD_BLOCK);
-        if (fixtures == null) {
-            return;
-        }
-        IFixture sideFixture = fixtures.component1();
+    private void handleSideWorldBlockContact(@NotNull IFixture sideFixture, @NotNull IFixture blockFixture,
+                                             @NotNull ProcessState processState) {
         String sideType = sideFixture.getProperty(Constants.ConstKeys.SIDE_TYPE, String.class);
         if (sideType == null) {
             return;
@@ -110,7 +113,7 @@ public class ContactListener implements IContactListener {
         }
 
         if (processState == ProcessState.BEGIN) {
-            ((BaseBlock) FixtureExtensions.getEntity(fixtures.component2())).hitBySide(sideFixture);
+            ((BaseBlock) FixtureExtensions.getEntity(blockFixture)).hitBySide(sideFixture);
         }
     }
 }
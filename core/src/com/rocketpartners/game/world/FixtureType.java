@@ -1,5 +1,8 @@
 package com.rocketpartners.game.world;
 
+import lombok.Getter;
+
+@Getter
 public enum FixtureType {
     WORLD_BLOCK,
     PLAYER,
@@ -16,5 +19,7 @@ public enum FixtureType {
     DAMAGER,
     DAMAGEABLE,
     PROJECTILE,
-    TELEPORTER
+    TELEPORTER;
+
+    private final int category = 1 << ordinal();
 }
@@ -0,0 +1,67 @@
+package com.rocketpartners.game.world;
+
+import com.engine.common.interfaces.Resettable;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Fixed timestep clock for the world. Each frame's delta is accumulated and turned into at most
+ * {@link #maxSubsteps} physics steps; whatever is left over becomes the interpolation alpha used to blend prior and
+ * current body positions when drawing. Frame time that cannot be simulated is dropped and counted instead of
+ * being carried over, so a spike can never snowball into more and more catch-up steps.
+ */
+@Getter
+public class FrameClock implements Resettable {
+
+    @Setter
+    private float fixedStep;
+    @Setter
+    private int maxSubsteps;
+    @Setter
+    private float maxFrameDelta;
+
+    private float accumulator;
+    private float alpha;
+    private int substeps;
+    private float clampedTime;
+    private float droppedTime;
+
+    public FrameClock(float fixedStep, int maxSubsteps, float maxFrameDelta) {
+        this.fixedStep = fixedStep;
+        this.maxSubsteps = maxSubsteps;
+        this.maxFrameDelta = maxFrameDelta;
+    }
+
+    /**
+     * Accumulates the frame delta and returns the number of fixed steps to run this frame.
+     */
+    public int advance(float delta) {
+        if (delta > maxFrameDelta) {
+            clampedTime += delta - maxFrameDelta;
+            delta = maxFrameDelta;
+        }
+        accumulator += delta;
+
+        int steps = (int) (accumulator / fixedStep);
+        if (steps > maxSubsteps) {
+            float dropped = (steps - maxSubsteps) * fixedStep;
+            droppedTime += dropped;
+            accumulator -= dropped;
+            steps = maxSubsteps;
+        }
+        accumulator = Math.max(0f, accumulator - steps * fixedStep);
+
+        substeps = steps;
+        alpha = Math.min(1f, accumulator / fixedStep);
+        return steps;
+    }
+
+    @Override
+    public void reset() {
+        accumulator = 0f;
+        alpha = 0f;
+        substeps = 0;
+        clampedTime = 0f;
+        droppedTime = 0f;
+    }
+}
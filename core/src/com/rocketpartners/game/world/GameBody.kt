@@ -0,0 +1,13 @@
+package com.rocketpartners.game.world
+
+import com.engine.world.Body
+import com.engine.world.BodyType
+
+/**
+ * Body that holds its [BodySenses] in a field, so that the contact listener reaches them without a property lookup.
+ * Written in Kotlin because the engine's body can't be subclassed from Java.
+ */
+class GameBody(bodyType: BodyType) : Body(bodyType) {
+
+    val bodySenses = BodySenses()
+}
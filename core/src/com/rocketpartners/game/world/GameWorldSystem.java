@@ -0,0 +1,900 @@
+package com.rocketpartners.game.world;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.OrderedMap;
+import com.badlogic.gdx.utils.OrderedSet;
+import com.engine.common.ClassInstanceUtils;
+import com.engine.common.interfaces.Updatable;
+import com.engine.common.shapes.GameRectangle;
+import com.engine.common.shapes.IGameShape2D;
+import com.engine.entities.IGameEntity;
+import com.engine.systems.IGameSystem;
+import com.engine.world.Body;
+import com.engine.world.BodyComponent;
+import com.engine.world.BodyType;
+import com.engine.world.Contact;
+import com.engine.world.ICollisionHandler;
+import com.engine.world.IContactListener;
+import com.engine.world.IFixture;
+import com.engine.world.PhysicsData;
+import kotlin.Pair;
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+import static com.rocketpartners.game.Constants.ConstVals;
+
+/**
+ * Replacement for the engine's world system that keeps its own {@link UniformGridBroadphase} up to date instead of
+ * rebuilding the world graph every step. Static bodies are binned once when they join the system, non-static bodies
+ * are re-binned only when they cross a cell boundary, and only non-static bodies query the broadphase for contacts
+ * and collisions.
+ * <p>
+ * Static bodies that are at rest settle after their first step: from then on they are left out of the step loop, so
+ * their pre-process, physics and post-process are skipped and their bounds are never re-binned, while they stay in the
+ * broadphase for other bodies to find. Code that moves or resizes a settled static body, or gives it a velocity, must
+ * call {@link #markDirty(Body)} to wake it for a step; respawning the body's entity does so already.
+ * <p>
+ * Dynamic bodies that can sleep (see {@link BodyExtensions#setCanSleep(Body, boolean)}) are put to sleep once their
+ * position, velocity and contacts have stayed the same for {@link #sleepTime} seconds, together with every dynamic body
+ * they touch. Sleeping bodies skip the step loop like settled ones. Contacts between two bodies that are both asleep or
+ * settled are carried over unchanged, while awake bodies still find sleeping ones through the broadphase, so their
+ * contacts are tested every step. An island wakes as a whole when a contact of one of its bodies begins or ends, when
+ * one of them is moved or has its velocity set from outside the world, or when a body it touches is removed.
+ * <p>
+ * Dynamic bodies flagged with {@link BodyExtensions#setFastMoving(Body, boolean)} are swept against static bodies
+ * when a step would move them more than half their size, so they cannot tunnel through thin blocks.
+ * <p>
+ * When {@link #parallelNarrowphase} is on and there are at least {@link #parallelThreshold} bodies, the narrowphase
+ * is split into chunks of bodies and run on the common {@link ForkJoinPool}. Workers only read snapshots of the
+ * fixture shapes and body bounds taken at the start of the phase and write to per-body result lists; the contacts are
+ * then merged and the collisions resolved on the calling thread in body order, so the listener and the collision
+ * handler see the same sequence regardless of how the work was scheduled. That sequence is not the serial one, which
+ * resolves each body's collisions before testing the next body, so the parallel narrowphase is off by default.
+ */
+public class GameWorldSystem implements IGameSystem {
+
+    private static final int NARROWPHASE_CHUNK_SIZE = 16;
+
+    private static final class Scratch {
+
+        private final Array<Object> results = new Array<>();
+        private final ObjectSet<Object> seen = new ObjectSet<>();
+    }
+
+    private static final class RestState {
+
+        private float x;
+        private float y;
+        private float width;
+        private float height;
+        private float velocityX;
+        private float velocityY;
+        private float restTime;
+        private boolean contactsChanged;
+    }
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final class NarrowphaseTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final UniformGridBroadphase broadphase;
+        private final int from;
+        private final int to;
+
+        private NarrowphaseTask(UniformGridBroadphase broadphase, int from, int to) {
+            this.broadphase = broadphase;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= NARROWPHASE_CHUNK_SIZE) {
+                for (int i = from; i < to; i++) {
+                    narrowphase(broadphase, i);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new NarrowphaseTask(broadphase, from, mid), new NarrowphaseTask(broadphase, mid, to));
+        }
+    }
+
+    private final IContactListener contactListener;
+    private final Supplier<UniformGridBroadphase> broadphaseSupplier;
+    private final FrameClock frameClock;
+    private final ICollisionHandler collisionHandler;
+    private final ContactFilter contactFilter;
+
+    private final OrderedMap<IGameEntity, Body> entities;
+    private final Array<IGameEntity> entitiesToAdd;
+    private final Array<IGameEntity> entitiesToRemove;
+    private final Array<Body> bodies;
+    private final ObjectSet<Body> settledBodies;
+    private final OrderedSet<Body> sleepingBodies;
+    private final IdentityMap<Body, RestState> restStates;
+    private final Array<Body> bodiesToWake;
+    private final Array<Body> island;
+    private final ObjectSet<Body> islandMembers;
+    private final IdentityMap<IFixture, IGameShape2D> restingShapes;
+    private final IdentityMap<Body, GameRectangle> restingBounds;
+    private final Array<Object> queryResults;
+    private final GameRectangle sweptBounds;
+    private final Vector2 sweepNormal;
+    private final Vector2 hitNormal;
+    private final IdentityMap<IFixture, IGameShape2D> shapeSnapshots;
+    private final IdentityMap<Body, GameRectangle> boundsSnapshots;
+    private final Array<Array<Contact>> bodyContacts;
+    private final Array<Array<Body>> bodyCollisions;
+
+    @Getter
+    @Setter
+    private boolean parallelNarrowphase;
+    @Getter
+    @Setter
+    private int parallelThreshold;
+    @Getter
+    @Setter
+    private float sleepTime;
+
+    private OrderedSet<Contact> priorContactSet;
+    private OrderedSet<Contact> currentContactSet;
+    private boolean updating;
+    private boolean bodiesChanged;
+    private boolean on;
+
+    public GameWorldSystem(@NotNull IContactListener contactListener,
+                           @NotNull Supplier<UniformGridBroadphase> broadphaseSupplier,
+                           @NotNull FrameClock frameClock,
+                           @NotNull ICollisionHandler collisionHandler,
+                           @NotNull ContactFilter contactFilter) {
+        this.contactListener = contactListener;
+        this.broadphaseSupplier = broadphaseSupplier;
+        this.frameClock = frameClock;
+        this.collisionHandler = collisionHandler;
+        this.contactFilter = contactFilter;
+        entities = new OrderedMap<>();
+        entitiesToAdd = new Array<>();
+        entitiesToRemove = new Array<>();
+        bodies = new Array<>();
+        settledBodies = new ObjectSet<>();
+        sleepingBodies = new OrderedSet<>();
+        restStates = new IdentityMap<>();
+        bodiesToWake = new Array<>();
+        island = new Array<>();
+        islandMembers = new ObjectSet<>();
+        restingShapes = new IdentityMap<>();
+        restingBounds = new IdentityMap<>();
+        queryResults = new Array<>();
+        sweptBounds = new GameRectangle();
+        sweepNormal = new Vector2();
+        hitNormal = new Vector2();
+        shapeSnapshots = new IdentityMap<>();
+        boundsSnapshots = new IdentityMap<>();
+        bodyContacts = new Array<>();
+        bodyCollisions = new Array<>();
+        parallelNarrowphase = false;
+        parallelThreshold = ConstVals.PARALLEL_NARROWPHASE_MIN_BODIES;
+        sleepTime = ConstVals.BODY_SLEEP_TIME;
+        priorContactSet = new OrderedSet<>();
+        currentContactSet = new OrderedSet<>();
+        on = true;
+    }
+
+    @Override
+    public boolean getOn() {
+        return on;
+    }
+
+    @Override
+    public void setOn(boolean on) {
+        this.on = on;
+    }
+
+    @Override
+    public boolean contains(@NotNull IGameEntity e) {
+        return entities.containsKey(e);
+    }
+
+    @Override
+    public boolean add(@NotNull IGameEntity e) {
+        if (!qualifies(e)) {
+            return false;
+        }
+        entitiesToAdd.add(e);
+        return true;
+    }
+
+    @NotNull
+    @Override
+    public Array<IGameEntity> addAll(@NotNull IGameEntity... entities) {
+        return addAll(new Array<>(entities));
+    }
+
+    @NotNull
+    @Override
+    public Array<IGameEntity> addAll(@NotNull Iterable<? extends IGameEntity> entities) {
+        Array<IGameEntity> rejected = new Array<>();
+        for (IGameEntity entity : entities) {
+            if (!add(entity)) {
+                rejected.add(entity);
+            }
+        }
+        return rejected;
+    }
+
+    @Override
+    public boolean remove(@NotNull IGameEntity e) {
+        if (updating) {
+            entitiesToRemove.add(e);
+        } else {
+            removeEntity(e);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean qualifies(@NotNull IGameEntity e) {
+        return e.hasComponent(ClassInstanceUtils.convertToKClass(BodyComponent.class));
+    }
+
+    @Override
+    public void update(float delta) {
+        updating = true;
+
+        for (IGameEntity entity : entitiesToAdd) {
+            Body body = getBody(entity);
+            Body old = entities.put(entity, body);
+            if (old != null && old != body) {
+                if (settledBodies.remove(old) | sleepingBodies.remove(old)) {
+                    unsettle(old);
+                }
+                restStates.remove(old);
+                removeFromBroadphase(old);
+                endContacts(old);
+            } else if (old == body) {
+                // respawned, possibly somewhere else
+                markDirty(body);
+                wake(body);
+            }
+            bodiesChanged = true;
+        }
+        entitiesToAdd.clear();
+
+        for (ObjectMap.Entry<IGameEntity, Body> entry : entities) {
+            if (entry.key.getDead() || !qualifies(entry.key)) {
+                entitiesToRemove.add(entry.key);
+            }
+        }
+        entitiesToRemove.forEach(this::removeEntity);
+        entitiesToRemove.clear();
+
+        if (on) {
+            process(delta);
+        }
+
+        updating = false;
+    }
+
+    @Override
+    public void reset() {
+        entities.clear();
+        entitiesToAdd.clear();
+        entitiesToRemove.clear();
+        bodies.clear();
+        settledBodies.clear();
+        sleepingBodies.clear();
+        restStates.clear();
+        restingShapes.clear();
+        restingBounds.clear();
+        shapeSnapshots.clear();
+        boundsSnapshots.clear();
+        priorContactSet.clear();
+        currentContactSet.clear();
+        frameClock.reset();
+        UniformGridBroadphase broadphase = broadphaseSupplier.get();
+        if (broadphase != null) {
+            broadphase.reset();
+        }
+    }
+
+    private void process(float delta) {
+        int steps = frameClock.advance(delta);
+        if (steps == 0) {
+            return;
+        }
+
+        UniformGridBroadphase broadphase = broadphaseSupplier.get();
+        if (broadphase == null) {
+            throw new IllegalStateException("Broadphase cannot be null.");
+        }
+
+        float fixedStep = frameClock.getFixedStep();
+        for (int i = 0; i < steps; i++) {
+            cycle(broadphase, fixedStep);
+        }
+
+        // keep the grid in sync with the final positions for the pathfinders
+        for (int i = 0; i < bodies.size; i++) {
+            Body body = bodies.get(i);
+            if (!body.isBodyType(BodyType.STATIC)) {
+                updateBroadphase(broadphase, body);
+            } else if (broadphase.contains(body) && body.getPhysics().getVelocity().isZero()) {
+                settle(body);
+            }
+        }
+    }
+
+    /**
+     * Wakes a settled static body so that it runs its pre-process and post-process and is re-binned on the next step.
+     * Must be called whenever a static body is moved, resized or given a velocity after it has settled.
+     */
+    public void markDirty(@NotNull Body body) {
+        if (!body.isBodyType(BodyType.STATIC)) {
+            return;
+        }
+        if (settledBodies.remove(body)) {
+            unsettle(body);
+        }
+        removeFromBroadphase(body);
+    }
+
+    private void settle(Body body) {
+        settledBodies.add(body);
+        snapshot(body);
+        BodyExtensions.getBodySenses(body).clearChanged();
+    }
+
+    private static void saveRestState(Body body, RestState state) {
+        Vector2 velocity = body.getPhysics().getVelocity();
+        state.x = body.x;
+        state.y = body.y;
+        state.width = body.width;
+        state.height = body.height;
+        state.velocityX = velocity.x;
+        state.velocityY = velocity.y;
+    }
+
+    private static boolean hasChanged(Body body, RestState state) {
+        Vector2 velocity = body.getPhysics().getVelocity();
+        return body.x != state.x || body.y != state.y || body.width != state.width || body.height != state.height ||
+                velocity.x != state.velocityX || velocity.y != state.velocityY;
+    }
+
+    // settled and sleeping bodies leave the step loop, so the parallel narrowphase needs their shapes kept aside
+    private void snapshot(Body body) {
+        restingBounds.put(body, body.getRotatedBounds());
+        Array<Pair<Object, IFixture>> fixtures = body.getFixtures();
+        for (int i = 0; i < fixtures.size; i++) {
+            IFixture fixture = fixtures.get(i).getSecond();
+            if (fixture.isActive()) {
+                restingShapes.put(fixture, fixture.getShape());
+            }
+        }
+        bodiesChanged = true;
+    }
+
+    private void unsettle(Body body) {
+        restingBounds.remove(body);
+        Array<Pair<Object, IFixture>> fixtures = body.getFixtures();
+        for (int i = 0; i < fixtures.size; i++) {
+            restingShapes.remove(fixtures.get(i).getSecond());
+        }
+        bodiesChanged = true;
+    }
+
+    private void cycle(UniformGridBroadphase broadphase, float delta) {
+        wakeChangedSleepers();
+        if (bodiesChanged) {
+            bodies.clear();
+            for (Body body : entities.values()) {
+                if (!settledBodies.contains(body) && !sleepingBodies.contains(body)) {
+                    bodies.add(body);
+                }
+            }
+            bodiesChanged = false;
+        }
+
+        for (int i = 0; i < bodies.size; i++) {
+            preProcess(bodies.get(i), delta);
+        }
+
+        for (int i = 0; i < bodies.size; i++) {
+            Body body = bodies.get(i);
+            updatePhysics(broadphase, body, delta);
+            if (!body.isBodyType(BodyType.STATIC) || !broadphase.contains(body)) {
+                updateBroadphase(broadphase, body);
+            }
+        }
+
+        if (parallelNarrowphase && bodies.size >= parallelThreshold) {
+            runParallelNarrowphase(broadphase);
+        } else {
+            for (int i = 0; i < bodies.size; i++) {
+                Body body = bodies.get(i);
+                if (!body.isBodyType(BodyType.STATIC)) {
+                    checkForContacts(broadphase, body);
+                    resolveCollisions(broadphase, body);
+                }
+            }
+        }
+
+        processContacts(delta);
+
+        for (int i = 0; i < bodies.size; i++) {
+            postProcess(bodies.get(i), delta);
+        }
+
+        updateRestStates(delta);
+    }
+
+    private void preProcess(Body body, float delta) {
+        for (Updatable updatable : body.getPreProcess().values()) {
+            updatable.update(delta);
+        }
+    }
+
+    private void postProcess(Body body, float delta) {
+        for (Updatable updatable : body.getPostProcess().values()) {
+            updatable.update(delta);
+        }
+    }
+
+    private void updatePhysics(UniformGridBroadphase broadphase, Body body, float delta) {
+        PhysicsData physics = body.getPhysics();
+        Vector2 velocity = physics.getVelocity();
+        Vector2 frictionOnSelf = physics.getFrictionOnSelf();
+        if (physics.getTakeFrictionFromOthers()) {
+            if (frictionOnSelf.x > 0f) {
+                velocity.x /= frictionOnSelf.x;
+            }
+            if (frictionOnSelf.y > 0f) {
+                velocity.y /= frictionOnSelf.y;
+            }
+        }
+        frictionOnSelf.set(physics.getDefaultFrictionOnSelf());
+
+        if (physics.getGravityOn()) {
+            velocity.add(physics.getGravity());
+        }
+
+        float clampX = Math.abs(physics.getVelocityClamp().x);
+        float clampY = Math.abs(physics.getVelocityClamp().y);
+        velocity.x = Math.max(-clampX, Math.min(clampX, velocity.x));
+        velocity.y = Math.max(-clampY, Math.min(clampY, velocity.y));
+
+        float dx = velocity.x * delta;
+        float dy = velocity.y * delta;
+        if (body.isBodyType(BodyType.DYNAMIC) && BodyExtensions.isFastMoving(body) &&
+                SweptCollision.needsSweep(body, dx, dy)) {
+            moveSwept(broadphase, body, dx, dy);
+        } else {
+            body.x += dx;
+            body.y += dy;
+        }
+    }
+
+    // moves the body up to the first static body in its path, then slides along the face that was hit with whatever
+    // is left of the move; the body stops flush against the face, where the collision handler does not see it, so
+    // the velocity into the face is clipped here instead of building up and sweeping back into the block
+    private void moveSwept(UniformGridBroadphase broadphase, Body body, float dx, float dy) {
+        Vector2 velocity = body.getPhysics().getVelocity();
+        for (int iteration = 0; iteration < ConstVals.MAX_SWEEP_ITERATIONS && (dx != 0f || dy != 0f); iteration++) {
+            GameRectangle bounds = body.getRotatedBounds();
+            sweptBounds.set(Math.min(bounds.x, bounds.x + dx), Math.min(bounds.y, bounds.y + dy),
+                    bounds.width + Math.abs(dx), bounds.height + Math.abs(dy));
+
+            queryResults.clear();
+            broadphase.query(sweptBounds, queryResults);
+            float timeOfImpact = 1f;
+            for (int i = 0; i < queryResults.size; i++) {
+                if (queryResults.get(i) instanceof Body other && other != body && other.isBodyType(BodyType.STATIC)) {
+                    float toi = SweptCollision.timeOfImpact(bounds, dx, dy, other.getRotatedBounds(), sweepNormal);
+                    if (toi < timeOfImpact) {
+                        timeOfImpact = toi;
+                        hitNormal.set(sweepNormal);
+                    }
+                }
+            }
+
+            body.x += dx * timeOfImpact;
+            body.y += dy * timeOfImpact;
+            if (timeOfImpact >= 1f) {
+                return;
+            }
+
+            if (velocity.x * hitNormal.x < 0f) {
+                velocity.x = 0f;
+            }
+            if (velocity.y * hitNormal.y < 0f) {
+                velocity.y = 0f;
+            }
+            float remaining = 1f - timeOfImpact;
+            dx = hitNormal.x != 0f ? 0f : dx * remaining;
+            dy = hitNormal.y != 0f ? 0f : dy * remaining;
+        }
+    }
+
+    private void updateBroadphase(UniformGridBroadphase broadphase, Body body) {
+        broadphase.add(body, body.getRotatedBounds());
+        Array<Pair<Object, IFixture>> fixtures = body.getFixtures();
+        for (int i = 0; i < fixtures.size; i++) {
+            IFixture fixture = fixtures.get(i).getSecond();
+            broadphase.add(fixture, fixture.getShape());
+        }
+    }
+
+    private void removeFromBroadphase(Body body) {
+        UniformGridBroadphase broadphase = broadphaseSupplier.get();
+        if (broadphase == null) {
+            return;
+        }
+        broadphase.remove(body);
+        Array<Pair<Object, IFixture>> fixtures = body.getFixtures();
+        for (int i = 0; i < fixtures.size; i++) {
+            broadphase.remove(fixtures.get(i).getSecond());
+        }
+    }
+
+    private void checkForContacts(UniformGridBroadphase broadphase, Body body) {
+        Array<Pair<Object, IFixture>> fixtures = body.getFixtures();
+        for (int i = 0; i < fixtures.size; i++) {
+            IFixture fixture = fixtures.get(i).getSecond();
+            if (!fixture.isActive()) {
+                continue;
+            }
+
+            IGameShape2D shape = fixture.getShape();
+            queryResults.clear();
+            broadphase.query(shape, queryResults);
+            for (int j = 0; j < queryResults.size; j++) {
+                if (queryResults.get(j) instanceof IFixture other && other.isActive() &&
+                        isContactCandidate(fixture, other) && shape.overlaps(other.getShape())) {
+                    currentContactSet.add(new Contact(fixture, other));
+                }
+            }
+        }
+    }
+
+    private void resolveCollisions(UniformGridBroadphase broadphase, Body body) {
+        queryResults.clear();
+        broadphase.query(body.getRotatedBounds(), queryResults);
+        for (int i = 0; i < queryResults.size; i++) {
+            if (queryResults.get(i) instanceof Body other && other != body &&
+                    other.getRotatedBounds().overlaps((IGameShape2D) body)) {
+                collisionHandler.handleCollision(body, other);
+            }
+        }
+    }
+
+    // unlike the serial path, every body's contacts are found before any collision is resolved
+    private void runParallelNarrowphase(UniformGridBroadphase broadphase) {
+        // fixture shapes and body bounds are computed lazily by the engine and are not safe to build concurrently
+        shapeSnapshots.clear();
+        boundsSnapshots.clear();
+        for (int i = 0; i < bodies.size; i++) {
+            Body body = bodies.get(i);
+            boundsSnapshots.put(body, body.getRotatedBounds());
+            Array<Pair<Object, IFixture>> fixtures = body.getFixtures();
+            for (int j = 0; j < fixtures.size; j++) {
+                IFixture fixture = fixtures.get(j).getSecond();
+                if (fixture.isActive()) {
+                    shapeSnapshots.put(fixture, fixture.getShape());
+                }
+            }
+        }
+        while (bodyContacts.size < bodies.size) {
+            bodyContacts.add(new Array<>());
+            bodyCollisions.add(new Array<>());
+        }
+
+        ForkJoinPool.commonPool().invoke(new NarrowphaseTask(broadphase, 0, bodies.size));
+
+        for (int i = 0; i < bodies.size; i++) {
+            Body body = bodies.get(i);
+            Array<Contact> contacts = bodyContacts.get(i);
+            for (int j = 0; j < contacts.size; j++) {
+                currentContactSet.add(contacts.get(j));
+            }
+            // an earlier resolution may already have pushed the bodies apart
+            Array<Body> collisions = bodyCollisions.get(i);
+            for (int j = 0; j < collisions.size; j++) {
+                Body other = collisions.get(j);
+                if (other.getRotatedBounds().overlaps((IGameShape2D) body)) {
+                    collisionHandler.handleCollision(body, other);
+                }
+            }
+            contacts.clear();
+            collisions.clear();
+        }
+    }
+
+    private void narrowphase(UniformGridBroadphase broadphase, int index) {
+        Body body = bodies.get(index);
+        if (body.isBodyType(BodyType.STATIC)) {
+            return;
+        }
+        Scratch scratch = SCRATCH.get();
+
+        Array<Contact> contacts = bodyContacts.get(index);
+        Array<Pair<Object, IFixture>> fixtures = body.getFixtures();
+        for (int i = 0; i < fixtures.size; i++) {
+            IFixture fixture = fixtures.get(i).getSecond();
+            IGameShape2D shape = shapeSnapshots.get(fixture);
+            if (shape == null) {
+                continue;
+            }
+            scratch.results.clear();
+            scratch.seen.clear();
+            broadphase.collect(shape, scratch.results);
+            for (int j = 0; j < scratch.results.size; j++) {
+                if (scratch.results.get(j) instanceof IFixture other && scratch.seen.add(other) &&
+                        isContactCandidate(fixture, other)) {
+                    IGameShape2D otherShape = shapeSnapshots.get(other, restingShapes.get(other));
+                    if (otherShape != null && shape.overlaps(otherShape)) {
+                        contacts.add(new Contact(fixture, other));
+                    }
+                }
+            }
+        }
+
+        Array<Body> collisions = bodyCollisions.get(index);
+        scratch.results.clear();
+        scratch.seen.clear();
+        broadphase.collect(boundsSnapshots.get(body), scratch.results);
+        for (int i = 0; i < scratch.results.size; i++) {
+            if (scratch.results.get(i) instanceof Body other && other != body && scratch.seen.add(other)) {
+                GameRectangle otherBounds = boundsSnapshots.get(other, restingBounds.get(other));
+                if (otherBounds != null && otherBounds.overlaps((IGameShape2D) body)) {
+                    collisions.add(other);
+                }
+            }
+        }
+    }
+
+    private void processContacts(float delta) {
+        // neither body of these contacts was stepped, so nothing can have tested them again
+        if (sleepingBodies.notEmpty()) {
+            Array<Contact> priorContacts = priorContactSet.orderedItems();
+            for (int i = 0; i < priorContacts.size; i++) {
+                Contact contact = priorContacts.get(i);
+                if (isResting(contact.getFixture1().getBody()) && isResting(contact.getFixture2().getBody())) {
+                    currentContactSet.add(contact);
+                }
+            }
+        }
+
+        for (Contact contact : currentContactSet) {
+            if (priorContactSet.contains(contact)) {
+                contactListener.continueContact(contact, delta);
+            } else {
+                contactListener.beginContact(contact, delta);
+                onContactChanged(contact);
+            }
+        }
+        for (Contact contact : priorContactSet) {
+            if (!currentContactSet.contains(contact)) {
+                contactListener.endContact(contact, delta);
+                onContactChanged(contact);
+            }
+        }
+        OrderedSet<Contact> temp = priorContactSet;
+        priorContactSet = currentContactSet;
+        currentContactSet = temp;
+        currentContactSet.clear();
+
+        for (int i = 0; i < bodiesToWake.size; i++) {
+            wake(bodiesToWake.get(i));
+        }
+        bodiesToWake.clear();
+    }
+
+    private void onContactChanged(Contact contact) {
+        Body body1 = contact.getFixture1().getBody();
+        Body body2 = contact.getFixture2().getBody();
+        RestState state1 = restStates.get(body1);
+        if (state1 != null) {
+            state1.contactsChanged = true;
+        }
+        RestState state2 = restStates.get(body2);
+        if (state2 != null) {
+            state2.contactsChanged = true;
+        }
+        if (isAsleep(body1)) {
+            bodiesToWake.add(body1);
+        }
+        if (isAsleep(body2)) {
+            bodiesToWake.add(body2);
+        }
+    }
+
+    private boolean isAsleep(Body body) {
+        return sleepingBodies.contains(body);
+    }
+
+    private boolean isResting(Body body) {
+        return sleepingBodies.contains(body) || settledBodies.contains(body);
+    }
+
+    private void updateRestStates(float delta) {
+        if (sleepTime <= 0f) {
+            return;
+        }
+
+        boolean anyReady = false;
+        float tolerance = ConstVals.BODY_SLEEP_TOLERANCE;
+        for (int i = 0; i < bodies.size; i++) {
+            Body body = bodies.get(i);
+            if (!body.isBodyType(BodyType.DYNAMIC) || !BodyExtensions.canSleep(body)) {
+                continue;
+            }
+            RestState state = restStates.get(body);
+            if (state == null) {
+                state = new RestState();
+                restStates.put(body, state);
+            }
+
+            Vector2 velocity = body.getPhysics().getVelocity();
+            boolean resting = !state.contactsChanged &&
+                    Math.abs(body.x - state.x) <= tolerance && Math.abs(body.y - state.y) <= tolerance &&
+                    Math.abs(velocity.x - state.velocityX) <= tolerance &&
+                    Math.abs(velocity.y - state.velocityY) <= tolerance;
+            state.restTime = resting ? state.restTime + delta : 0f;
+            saveRestState(body, state);
+            state.contactsChanged = false;
+            anyReady |= state.restTime >= sleepTime;
+        }
+
+        if (anyReady) {
+            for (int i = 0; i < bodies.size; i++) {
+                Body body = bodies.get(i);
+                if (isReadyToSleep(body) && !isAsleep(body)) {
+                    trySleepIsland(body);
+                }
+            }
+        }
+    }
+
+    private boolean isReadyToSleep(Body body) {
+        RestState state = restStates.get(body);
+        return state != null && state.restTime >= sleepTime;
+    }
+
+    // an island only sleeps if every dynamic body connected to it by contacts is ready to
+    private void trySleepIsland(Body body) {
+        island.clear();
+        islandMembers.clear();
+        island.add(body);
+        islandMembers.add(body);
+        Array<Contact> contacts = priorContactSet.orderedItems();
+        for (int i = 0; i < island.size; i++) {
+            Body member = island.get(i);
+            for (int j = 0; j < contacts.size; j++) {
+                Body other = getTouchedDynamicBody(contacts.get(j), member);
+                if (other == null || !islandMembers.add(other)) {
+                    continue;
+                }
+                if (!isAsleep(other) && !isReadyToSleep(other)) {
+                    island.clear();
+                    return;
+                }
+                island.add(other);
+            }
+        }
+
+        for (int i = 0; i < island.size; i++) {
+            Body member = island.get(i);
+            if (sleepingBodies.add(member)) {
+                snapshot(member);
+                BodyExtensions.getBodySenses(member).clearChanged();
+            }
+        }
+        island.clear();
+    }
+
+    // sleepers that were changed from outside the world rejoin the step loop; settled static bodies are never polled
+    // here, since there are far more of them and they only move through markDirty
+    private void wakeChangedSleepers() {
+        Array<Body> sleeping = sleepingBodies.orderedItems();
+        for (int i = 0; i < sleeping.size; i++) {
+            Body body = sleeping.get(i);
+            if (hasChanged(body, restStates.get(body))) {
+                bodiesToWake.add(body);
+            }
+        }
+        for (int i = 0; i < bodiesToWake.size; i++) {
+            wake(bodiesToWake.get(i));
+        }
+        bodiesToWake.clear();
+    }
+
+    private void wake(Body body) {
+        if (!sleepingBodies.remove(body)) {
+            return;
+        }
+        island.clear();
+        island.add(body);
+        Array<Contact> contacts = priorContactSet.orderedItems();
+        for (int i = 0; i < island.size; i++) {
+            Body member = island.get(i);
+            unsettle(member);
+            restStates.get(member).restTime = 0f;
+            for (int j = 0; j < contacts.size; j++) {
+                Body other = getTouchedDynamicBody(contacts.get(j), member);
+                if (other != null && sleepingBodies.remove(other)) {
+                    island.add(other);
+                }
+            }
+        }
+        island.clear();
+    }
+
+    private static Body getTouchedDynamicBody(Contact contact, Body body) {
+        Body body1 = contact.getFixture1().getBody();
+        Body body2 = contact.getFixture2().getBody();
+        Body other = body1 == body ? body2 : body2 == body ? body1 : null;
+        return other != null && other != body && other.isBodyType(BodyType.DYNAMIC) ? other : null;
+    }
+
+    private boolean isContactCandidate(IFixture fixture, IFixture other) {
+        return fixture != other && contactFilter.accepts(fixture.getFixtureType(), other.getFixtureType());
+    }
+
+    private void removeEntity(IGameEntity entity) {
+        Body body = entities.remove(entity);
+        if (body != null) {
+            if (settledBodies.remove(body) | sleepingBodies.remove(body)) {
+                unsettle(body);
+            }
+            restStates.remove(body);
+            removeFromBroadphase(body);
+            endContacts(body);
+            bodiesChanged = true;
+        }
+    }
+
+    // ends the contacts of a removed body right away and wakes the islands resting on it, which would otherwise keep
+    // their contacts with it and float
+    private void endContacts(Body body) {
+        Array<Contact> contacts = priorContactSet.orderedItems();
+        for (int i = contacts.size - 1; i >= 0; i--) {
+            Contact contact = contacts.get(i);
+            Body body1 = contact.getFixture1().getBody();
+            Body body2 = contact.getFixture2().getBody();
+            if (body1 != body && body2 != body) {
+                continue;
+            }
+            priorContactSet.removeIndex(i);
+            contactListener.endContact(contact, 0f);
+            Body other = body1 == body ? body2 : body1;
+            RestState state = restStates.get(other);
+            if (state != null) {
+                state.contactsChanged = true;
+            }
+            if (isAsleep(other)) {
+                bodiesToWake.add(other);
+            }
+        }
+        for (int i = 0; i < bodiesToWake.size; i++) {
+            wake(bodiesToWake.get(i));
+        }
+        bodiesToWake.clear();
+    }
+
+    private static Body getBody(IGameEntity entity) {
+        BodyComponent bodyComponent = entity.getComponent(ClassInstanceUtils.convertToKClass(BodyComponent.class));
+        assert bodyComponent != null;
+        return bodyComponent.getBody();
+    }
+}
@@ -0,0 +1,90 @@
+package com.rocketpartners.game.world;
+
+import com.badlogic.gdx.math.Vector2;
+import com.engine.common.interfaces.Resettable;
+import com.engine.world.Body;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Ring buffer of the last positions and velocities of a body, recorded at the start of every world step. Index 0
+ * is the most recent record, i.e. where the body was before the step that produced its current position.
+ */
+public class MotionHistory implements Resettable {
+
+    private static final int STRIDE = 4;
+
+    private final float[] buffer;
+    @Getter
+    private final int capacity;
+    @Getter
+    private int size;
+    private int head;
+
+    public MotionHistory(int capacity) {
+        this.capacity = capacity;
+        buffer = new float[capacity * STRIDE];
+    }
+
+    public void record(@NotNull Body body) {
+        head = (head + 1) % capacity;
+        int i = head * STRIDE;
+        Vector2 velocity = body.getPhysics().getVelocity();
+        buffer[i] = body.x;
+        buffer[i + 1] = body.y;
+        buffer[i + 2] = velocity.x;
+        buffer[i + 3] = velocity.y;
+        size = Math.min(size + 1, capacity);
+    }
+
+    public float getX(int stepsAgo) {
+        return buffer[index(stepsAgo)];
+    }
+
+    public float getY(int stepsAgo) {
+        return buffer[index(stepsAgo) + 1];
+    }
+
+    public float getVelocityX(int stepsAgo) {
+        return buffer[index(stepsAgo) + 2];
+    }
+
+    public float getVelocityY(int stepsAgo) {
+        return buffer[index(stepsAgo) + 3];
+    }
+
+    public Vector2 getPosition(int stepsAgo, @NotNull Vector2 out) {
+        int i = index(stepsAgo);
+        return out.set(buffer[i], buffer[i + 1]);
+    }
+
+    public Vector2 getVelocity(int stepsAgo, @NotNull Vector2 out) {
+        int i = index(stepsAgo);
+        return out.set(buffer[i + 2], buffer[i + 3]);
+    }
+
+    public float getDeltaX(@NotNull Body body) {
+        return size == 0 ? 0f : body.x - getX(0);
+    }
+
+    public float getDeltaY(@NotNull Body body) {
+        return size == 0 ? 0f : body.y - getY(0);
+    }
+
+    public Vector2 getDelta(@NotNull Body body, @NotNull Vector2 out) {
+        return out.set(getDeltaX(body), getDeltaY(body));
+    }
+
+    @Override
+    public void reset() {
+        size = 0;
+        head = 0;
+    }
+
+    private int index(int stepsAgo) {
+        if (stepsAgo < 0 || stepsAgo >= size) {
+            throw new IndexOutOfBoundsException("No record " + stepsAgo + " steps ago, size = " + size);
+        }
+        return ((head - stepsAgo + capacity) % capacity) * STRIDE;
+    }
+}
@@ -0,0 +1,77 @@
+package com.rocketpartners.game.world;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Swept axis-aligned bounding box tests used to keep fast bodies from tunnelling through static blocks.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SweptCollision {
+
+    /**
+     * Returns the fraction of the displacement (dx, dy) that the moving rectangle can travel before it touches the
+     * target, or 1 if it does not hit the target during the move. Targets that already overlap the moving rectangle
+     * are ignored since the collision handler pushes those out. When there is a hit, the normal of the face that was
+     * hit is written to the output.
+     */
+    public static float timeOfImpact(@NotNull Rectangle moving, float dx, float dy, @NotNull Rectangle target,
+                                     @NotNull Vector2 normal) {
+        float entryX;
+        float exitX;
+        if (dx == 0f) {
+            if (moving.x + moving.width <= target.x || moving.x >= target.x + target.width) {
+                return 1f;
+            }
+            entryX = Float.NEGATIVE_INFINITY;
+            exitX = Float.POSITIVE_INFINITY;
+        } else if (dx > 0f) {
+            entryX = (target.x - (moving.x + moving.width)) / dx;
+            exitX = (target.x + target.width - moving.x) / dx;
+        } else {
+            entryX = (target.x + target.width - moving.x) / dx;
+            exitX = (target.x - (moving.x + moving.width)) / dx;
+        }
+
+        float entryY;
+        float exitY;
+        if (dy == 0f) {
+            if (moving.y + moving.height <= target.y || moving.y >= target.y + target.height) {
+                return 1f;
+            }
+            entryY = Float.NEGATIVE_INFINITY;
+            exitY = Float.POSITIVE_INFINITY;
+        } else if (dy > 0f) {
+            entryY = (target.y - (moving.y + moving.height)) / dy;
+            exitY = (target.y + target.height - moving.y) / dy;
+        } else {
+            entryY = (target.y + target.height - moving.y) / dy;
+            exitY = (target.y - (moving.y + moving.height)) / dy;
+        }
+
+        float entry = Math.max(entryX, entryY);
+        float exit = Math.min(exitX, exitY);
+        if (entry > exit || entry < 0f || entry >= 1f) {
+            return 1f;
+        }
+
+        if (entryX > entryY) {
+            normal.set(-Math.signum(dx), 0f);
+        } else {
+            normal.set(0f, -Math.signum(dy));
+        }
+        return entry;
+    }
+
+    /**
+     * Returns true if a single discrete step of (dx, dy) could carry the rectangle through something or leave it
+     * overlapping deeply enough to be pushed out on the wrong side, i.e. if the move is more than half the
+     * rectangle's size on either axis.
+     */
+    public static boolean needsSweep(@NotNull Rectangle moving, float dx, float dy) {
+        return Math.abs(dx) > moving.width / 2f || Math.abs(dy) > moving.height / 2f;
+    }
+}
@@ -0,0 +1,249 @@
+package com.rocketpartners.game.world;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.engine.common.objects.IntPair;
+import com.engine.common.shapes.IGameShape2D;
+import com.engine.common.shapes.IGameShape2DSupplier;
+import com.engine.graph.IGraphMap;
+import com.engine.graph.MinsAndMaxes;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+
+/**
+ * Uniform grid of PPM sized cells covering the level. Unlike {@link com.engine.graph.SimpleNodeGraphMap} the grid
+ * is never rebuilt: each object keeps the cell range it was last inserted into and is only re-binned when that
+ * range changes. Objects outside the level are clamped into the border cells.
+ */
+public class UniformGridBroadphase implements IGraphMap {
+
+    private static class Proxy {
+
+        private int minX;
+        private int minY;
+        private int maxX;
+        private int maxY;
+        private int queryStamp;
+    }
+
+    @Getter
+    private final int x;
+    @Getter
+    private final int y;
+    @Getter
+    private final int width;
+    @Getter
+    private final int height;
+    @Getter
+    private final int ppm;
+
+    private final Array<Object>[] cells;
+    private final IdentityMap<Object, Proxy> proxies;
+    private int queryStamp;
+
+    // generic arrays can't be created, the cells only ever hold Array<Object>
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public UniformGridBroadphase(int x, int y, int width, int height, int ppm) {
+        this.x = x;
+        this.y = y;
+        this.width = Math.max(width, 1);
+        this.height = Math.max(height, 1);
+        this.ppm = ppm;
+        cells = new Array[this.width * this.height];
+        proxies = new IdentityMap<>();
+    }
+
+    public synchronized boolean contains(@NotNull Object obj) {
+        return proxies.containsKey(obj);
+    }
+
+    @Override
+    public synchronized boolean add(@NotNull Object obj, @NotNull IGameShape2D shape) {
+        Rectangle bounds = shape instanceof Rectangle rectangle ? rectangle : shape.getBoundingRectangle();
+        int minX = toColumn(bounds.x);
+        int minY = toRow(bounds.y);
+        int maxX = toColumn(bounds.x + bounds.width);
+        int maxY = toRow(bounds.y + bounds.height);
+
+        Proxy proxy = proxies.get(obj);
+        if (proxy == null) {
+            proxy = new Proxy();
+            proxies.put(obj, proxy);
+        } else if (proxy.minX == minX && proxy.minY == minY && proxy.maxX == maxX && proxy.maxY == maxY) {
+            return false;
+        } else {
+            removeFromCells(obj, proxy);
+        }
+
+        proxy.minX = minX;
+        proxy.minY = minY;
+        proxy.maxX = maxX;
+        proxy.maxY = maxY;
+        for (int row = minY; row <= maxY; row++) {
+            for (int column = minX; column <= maxX; column++) {
+                int index = row * width + column;
+                Array<Object> cell = cells[index];
+                if (cell == null) {
+                    cell = new Array<>(false, 4);
+                    cells[index] = cell;
+                }
+                cell.add(obj);
+            }
+        }
+        return true;
+    }
+
+    public synchronized boolean remove(@NotNull Object obj) {
+        Proxy proxy = proxies.remove(obj);
+        if (proxy == null) {
+            return false;
+        }
+        removeFromCells(obj, proxy);
+        return true;
+    }
+
+    /**
+     * Adds every object whose cells intersect the bounds of the shape to the out array, each object at most once.
+     * Used by the world system so that no set is allocated per query.
+     */
+    public synchronized void query(@NotNull IGameShape2D shape, @NotNull Array<Object> out) {
+        Rectangle bounds = shape instanceof Rectangle rectangle ? rectangle : shape.getBoundingRectangle();
+        int minX = toColumn(bounds.x);
+        int minY = toRow(bounds.y);
+        int maxX = toColumn(bounds.x + bounds.width);
+        int maxY = toRow(bounds.y + bounds.height);
+
+        int stamp = ++queryStamp;
+        for (int row = minY; row <= maxY; row++) {
+            for (int column = minX; column <= maxX; column++) {
+                Array<Object> cell = cells[row * width + column];
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size; i++) {
+                    Object obj = cell.get(i);
+                    Proxy proxy = proxies.get(obj);
+                    if (proxy.queryStamp != stamp) {
+                        proxy.queryStamp = stamp;
+                        out.add(obj);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds every object in the cells overlapped by the shape's bounds to the output, without removing duplicates.
+     * Unlike {@link #query(IGameShape2D, Array)} this does not lock or write to the grid, so any number of threads may
+     * call it at once as long as nothing adds or removes objects in the meantime.
+     */
+    public void collect(@NotNull IGameShape2D shape, @NotNull Array<Object> out) {
+        Rectangle bounds = shape instanceof Rectangle rectangle ? rectangle : shape.getBoundingRectangle();
+        int minX = toColumn(bounds.x);
+        int minY = toRow(bounds.y);
+        int maxX = toColumn(bounds.x + bounds.width);
+        int maxY = toRow(bounds.y + bounds.height);
+
+        for (int row = minY; row <= maxY; row++) {
+            for (int column = minX; column <= maxX; column++) {
+                Array<Object> cell = cells[row * width + column];
+                if (cell != null) {
+                    out.addAll(cell);
+                }
+            }
+        }
+    }
+
+    @NotNull
+    @Override
+    public synchronized HashSet<Object> get(int x, int y) {
+        HashSet<Object> set = new HashSet<>();
+        int column = x - this.x;
+        int row = y - this.y;
+        if (column < 0 || row < 0 || column >= width || row >= height) {
+            return set;
+        }
+        Array<Object> cell = cells[row * width + column];
+        if (cell != null) {
+            for (int i = 0; i < cell.size; i++) {
+                set.add(cell.get(i));
+            }
+        }
+        return set;
+    }
+
+    @NotNull
+    @Override
+    public synchronized HashSet<Object> get(int minX, int minY, int maxX, int maxY) {
+        HashSet<Object> set = new HashSet<>();
+        for (int column = minX; column <= maxX; column++) {
+            for (int row = minY; row <= maxY; row++) {
+                set.addAll(get(column, row));
+            }
+        }
+        return set;
+    }
+
+    @Override
+    public synchronized void reset() {
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] != null) {
+                cells[i].clear();
+            }
+        }
+        proxies.clear();
+        queryStamp = 0;
+    }
+
+    @Override
+    public boolean add(@NotNull IGameShape2D shape) {
+        return IGraphMap.DefaultImpls.add(this, shape);
+    }
+
+    @Override
+    public boolean add(@NotNull IGameShape2DSupplier obj) {
+        return IGraphMap.DefaultImpls.add(this, obj);
+    }
+
+    @NotNull
+    @Override
+    public Iterable<Object> get(@NotNull IntPair coordinate) {
+        return IGraphMap.DefaultImpls.get(this, coordinate);
+    }
+
+    @NotNull
+    @Override
+    public Iterable<Object> get(@NotNull MinsAndMaxes m) {
+        return IGraphMap.DefaultImpls.get(this, m);
+    }
+
+    @NotNull
+    @Override
+    public Iterable<Object> get(@NotNull IGameShape2D shape) {
+        return IGraphMap.DefaultImpls.get(this, shape);
+    }
+
+    private void removeFromCells(Object obj, Proxy proxy) {
+        for (int row = proxy.minY; row <= proxy.maxY; row++) {
+            for (int column = proxy.minX; column <= proxy.maxX; column++) {
+                Array<Object> cell = cells[row * width + column];
+                if (cell != null) {
+                    cell.removeValue(obj, true);
+                }
+            }
+        }
+    }
+
+    private int toColumn(float worldX) {
+        int column = (int) Math.floor(worldX / ppm) - x;
+        return Math.max(0, Math.min(width - 1, column));
+    }
+
+    private int toRow(float worldY) {
+        int row = (int) Math.floor(worldY / ppm) - y;
+        return Math.max(0, Math.min(height - 1, row));
+    }
+}
@@ -4,12 +4,18 @@ import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 import com.rocketpartners.game.RocketPartnersGame;
 
+import java.util.Arrays;
+
 // Please note that on macOS your application needs to be started with the -XstartOnFirstThread JVM argument
 public class DesktopLauncher {
 	public static void main (String[] arg) {
 		Lwjgl3ApplicationConfiguration config = new Lwjgl3ApplicationConfiguration();
 		config.setForegroundFPS(60);
 		config.setTitle("Rocket Partners Game");
-		new Lwjgl3Application(new RocketPartnersGame(), config);
+		RocketPartnersGame game = new RocketPartnersGame();
+		// run the level simulation on its own thread, overlapping it with rendering
+		game.setSimulationThreaded(Arrays.asList(arg).contains("--simulation-thread"));
+		game.setLowResRendering(Arrays.asList(arg).contains("--low-res"));
+		new Lwjgl3Application(game, config);
 	}
 }